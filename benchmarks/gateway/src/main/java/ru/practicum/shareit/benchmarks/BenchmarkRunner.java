@@ -0,0 +1,23 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Точка входа benchmarks.jar: те же ключи, что у JMH, но профилировщик GC включён всегда,
+ * чтобы рядом с временем в отчёте была скорость выделения памяти (gc.alloc.rate.norm).
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("gc")) {
+            options.add(0, "-prof");
+            options.add(1, "gc");
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import ru.practicum.shareit.client.ClientConfig;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Передача запроса шлюзом серверу и ответа обратно через {@code UserClient} с настоящим пулом соединений,
+ * а вместо сервера — заглушка на JDK HttpServer, отвечающая готовым телом размера {@code responseSize}.
+ * Тело ответа вычитывается до конца, как это делает конвертер при отдаче клиенту.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+// Без TCP_NODELAY заглушка отдаёт заголовки и тело разными пакетами и упирается в задержку ACK на 40 мс
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class GatewayRelayBenchmark {
+
+    @Param({"256", "65536"})
+    public int responseSize;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ClientHttpRequestFactory requestFactory;
+    private UserClient userClient;
+    private byte[] response;
+    private UserDto user;
+
+    @Setup
+    public void setUp() throws IOException {
+        response = usersJson(responseSize);
+        user = UserDto.builder().name("user").email("user@mail.ru").build();
+
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users", this::respond);
+        server.start();
+
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("http://localhost:" + server.getAddress().getPort());
+        ClientConfig config = new ClientConfig();
+        requestFactory = config.shareItServerRequestFactory(properties, config.shareItServerConnectionManager(properties));
+        userClient = new UserClient(properties, new RestTemplateBuilder(), requestFactory);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ((DisposableBean) requestFactory).destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public long getAllUsers() throws IOException {
+        return drain(userClient.getAllUsers());
+    }
+
+    @Benchmark
+    public long createUser() throws IOException {
+        return drain(userClient.createUser(user));
+    }
+
+    private static long drain(ResponseEntity<Object> relayed) throws IOException {
+        if (!(relayed.getBody() instanceof Resource body)) {
+            return 0;
+        }
+        try (InputStream in = body.getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    /**
+     * Массив пользователей в JSON длиной не меньше size байт.
+     */
+    private static byte[] usersJson(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; json.length() < size; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                    .append(",\"name\":\"user").append(id)
+                    .append("\",\"email\":\"user").append(id).append("@mail.ru\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.enums.StatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения с подтверждёнными бронированиями перед созданием бронирования: ответ индекса
+ * в памяти против запроса {@code findBookingsAtSameTime} к H2. Окна по одному дню выбираются
+ * по кругу из заранее сгенерированных, по случайным вещам и в пределах года от текущего момента.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AvailabilityIndexBenchmark {
+    private static final int ITEMS = 1000;
+    private static final int WINDOWS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingAvailabilityIndex index;
+    private BookingRepository bookingRepository;
+    private final long[] itemIds = new long[WINDOWS];
+    private final LocalDateTime[] starts = new LocalDateTime[WINDOWS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkServer.start("--shareit.booking.availability-index=CONSISTENT");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seedUsers(jdbc);
+        BenchmarkServer.seedItems(jdbc, ITEMS);
+        BenchmarkServer.seedBookings(jdbc, ITEMS, bookings);
+        index = context.getBean(BookingAvailabilityIndex.class);
+        index.warmUp();
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < WINDOWS; i++) {
+            itemIds[i] = random.nextInt(ITEMS) + 1L;
+            starts[i] = now.plusHours(random.nextInt(BenchmarkServer.BOOKING_HOURS_SPREAD)
+                    - BenchmarkServer.BOOKING_HOURS_SPREAD / 2);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean index() {
+        int i = next();
+        return index.hasApprovedAtSameTime(itemIds[i], starts[i], starts[i].plusDays(1));
+    }
+
+    @Benchmark
+    public List<Booking> database() {
+        int i = next();
+        return bookingRepository.findBookingsAtSameTime(itemIds[i], StatusEnum.APPROVED, starts[i],
+                starts[i].plusDays(1));
+    }
+
+    private int next() {
+        next = (next + 1) & (WINDOWS - 1);
+        return next;
+    }
+}
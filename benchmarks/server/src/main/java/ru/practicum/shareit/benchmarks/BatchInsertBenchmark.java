@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Скорость вставки 100 тыс. вещей в строках в секунду: {@code insertAll} пакетами с очисткой контекста
+ * (как в потоковом импорте {@code POST /items/bulk}) против {@code save} по одной вещи — в одной транзакции
+ * и каждой в своей, как при создании вещей по одной через {@code POST /items}.
+ * Между итерациями таблица вещей очищается. H2 в памяти работает в том же процессе, и пакеты экономят
+ * здесь только работу Hibernate и JDBC; выигрыш на сетевых обращениях виден на Postgres, в нагрузочном
+ * сценарии {@code bulk-import}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchInsertBenchmark.ROWS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BatchInsertBenchmark {
+    static final int ROWS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbc;
+    private User owner;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkServer.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seedUsers(jdbc);
+        owner = User.builder().id(BenchmarkServer.OWNER_ID).build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteItems() {
+        jdbc.update("DELETE FROM ITEMS");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> insertAll() {
+        return itemRepository.insertAll(items());
+    }
+
+    @Benchmark
+    public List<Item> saveInOneTransaction() {
+        return transactionTemplate.execute(status -> {
+            List<Item> items = items();
+            items.forEach(itemRepository::save);
+            return items;
+        });
+    }
+
+    @Benchmark
+    public List<Item> savePerTransaction() {
+        List<Item> items = items();
+        items.forEach(itemRepository::save);
+        return items;
+    }
+
+    private List<Item> items() {
+        List<Item> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(Item.builder()
+                    .name("Вещь " + i)
+                    .description("Описание вещи " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        return items;
+    }
+}
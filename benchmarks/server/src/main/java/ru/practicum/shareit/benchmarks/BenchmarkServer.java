@@ -0,0 +1,153 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.summary.CommentListConverter;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Сервер без веб-слоя на H2 в памяти и заполнение его базы пакетными INSERT в обход сервисов.
+ * С {@code -Dbench.url=jdbc:postgresql://...} (и {@code -Dbench.username}, {@code -Dbench.password})
+ * сервер работает с PostgreSQL и схемой {@code schema-postgresql.sql}; {@code schema.sql} пересоздаёт
+ * таблицы при каждом запуске, поэтому база нужна отдельная.
+ * Пользователи — {@link #OWNERS} владельцев с id от 1 и {@link #BOOKERS} бронирующих следом за ними;
+ * вещи раздаются владельцам по кругу, бронирования — вещам и бронирующим по кругу и разбросаны
+ * на год назад и вперёд.
+ */
+final class BenchmarkServer {
+    static final int OWNERS = 100;
+    static final int BOOKERS = 1000;
+    static final long OWNER_ID = 1L;
+    static final long BOOKER_ID = OWNERS + 1L;
+    static final int BOOKING_HOURS_SPREAD = 17_520;
+
+    private static final int COMMENTS_PER_ITEM = 5;
+    private static final int BATCH = 1000;
+    private static final String URL_PROPERTY = "bench.url";
+
+    private BenchmarkServer() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(isPostgres() ? List.of(
+                "--spring.datasource.url=" + System.getProperty(URL_PROPERTY),
+                "--spring.datasource.username=" + System.getProperty("bench.username", "postgres"),
+                "--spring.datasource.password=" + System.getProperty("bench.password", ""))
+                : List.of(
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.sql.init.platform=h2",
+                "--shareit.items.search=LIKE"));
+        args.add("--shareit.items.summary.refresh-delay=3600000");
+        args.add("--logging.level.root=WARN");
+        args.addAll(Arrays.asList(properties));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    static void seedUsers(JdbcTemplate jdbc) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= OWNERS + BOOKERS; id++) {
+            rows.add(new Object[]{id, "user" + id + "@mail.ru", "user" + id});
+            flushIfFull(jdbc, "INSERT INTO USERS (ID, EMAIL, NAME) VALUES (?, ?, ?)", rows);
+        }
+        insert(jdbc, "INSERT INTO USERS (ID, EMAIL, NAME) VALUES (?, ?, ?)", rows);
+    }
+
+    /**
+     * Вещи с названиями «Вещь N» и описаниями «Описание вещи N»: подстрока {@code "вещь 1"} есть
+     * в названии примерно у каждой девятой вещи, поэтому страница поиска заполняется при любом числе вещей.
+     */
+    static void seedItems(JdbcTemplate jdbc, int items) {
+        String sql = "INSERT INTO ITEMS (ID, NAME, DESCRIPTION, IS_AVAILABLE, OWNER_ID) VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            rows.add(new Object[]{id, "Вещь " + id, "Описание вещи " + id, true, (id - 1) % OWNERS + 1});
+            flushIfFull(jdbc, sql, rows);
+        }
+        insert(jdbc, sql, rows);
+    }
+
+    static void seedBookings(JdbcTemplate jdbc, int items, int bookings) {
+        String sql = "INSERT INTO BOOKINGS (ID, START_DATE, END_DATE, ITEM_ID, BOOKER_ID, STATUS) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= bookings; id++) {
+            LocalDateTime start = now.plusHours(id % BOOKING_HOURS_SPREAD - BOOKING_HOURS_SPREAD / 2);
+            rows.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                    (id - 1) % items + 1, OWNERS + (id - 1) % BOOKERS + 1, status(id).name()});
+            flushIfFull(jdbc, sql, rows);
+        }
+        insert(jdbc, sql, rows);
+    }
+
+    /**
+     * По 5 отзывов на вещь и карточки вещей с этими отзывами и последним/следующим бронированием.
+     */
+    static void seedCommentsAndSummaries(JdbcTemplate jdbc, ItemSummaryService itemSummaryService, int items) {
+        LocalDateTime now = LocalDateTime.now();
+        CommentListConverter converter = new CommentListConverter();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> summaries = new ArrayList<>();
+        long commentId = 1;
+        for (long itemId = 1; itemId <= items; itemId++) {
+            List<CommentDto> comments = new ArrayList<>();
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++, commentId++) {
+                long authorId = OWNERS + (commentId - 1) % BOOKERS + 1;
+                LocalDateTime created = now.minusDays(commentId % 365);
+                rows.add(new Object[]{commentId, "Отзыв " + commentId, itemId, authorId, Timestamp.valueOf(created)});
+                comments.add(CommentDto.builder().id(commentId).text("Отзыв " + commentId)
+                        .authorName("user" + authorId).created(created).build());
+            }
+            summaries.add(new Object[]{itemId, converter.convertToDatabaseColumn(comments)});
+        }
+        insert(jdbc, "INSERT INTO COMMENTS (ID, TEXT, ITEM_ID, AUTHOR_ID, CREATED) VALUES (?, ?, ?, ?, ?)", rows);
+        insert(jdbc, "INSERT INTO ITEM_SUMMARY (ITEM_ID, COMMENTS) VALUES (?, ?)", summaries);
+        for (long itemId = 1; itemId <= items; itemId++) {
+            itemSummaryService.refreshBookings(itemId);
+        }
+    }
+
+    static StatusEnum status(long bookingId) {
+        switch ((int) (bookingId % 10)) {
+            case 0:
+                return StatusEnum.REJECTED;
+            case 1:
+                return StatusEnum.WAITING;
+            default:
+                return StatusEnum.APPROVED;
+        }
+    }
+
+    private static boolean isPostgres() {
+        return System.getProperty(URL_PROPERTY) != null;
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (rows.size() == BATCH) {
+            insert(jdbc, sql, rows);
+        }
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
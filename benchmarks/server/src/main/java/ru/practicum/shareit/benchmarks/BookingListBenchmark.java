@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница списка бронирований бронирующего и владельца для каждого состояния: условие собирается
+ * из спецификаций и выполняется одним запросом с сортировкой в базе. Главное здесь — выделение памяти
+ * на запрос ({@code gc.alloc.rate.norm}, профилировщик GC включает {@link BenchmarkRunner}): сервер
+ * получает из базы только страницу, а сравнение 1 тыс. и 100 тыс. бронирований показывает, растёт ли
+ * выделение с объёмом данных. H2 работает в том же процессе, поэтому его выделение тоже входит в замер.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookingListBenchmark {
+    private static final int ITEMS = 1000;
+
+    @Param({"1000", "100000"})
+    public int bookings;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkServer.start();
+        bookingService = context.getBean(BookingService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seedUsers(jdbc);
+        BenchmarkServer.seedItems(jdbc, ITEMS);
+        BenchmarkServer.seedBookings(jdbc, ITEMS, bookings);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingOutDto> booker() {
+        return bookingService.findAllForUser(BenchmarkServer.BOOKER_ID, state, 0, 10);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> owner() {
+        return bookingService.findAllForOwner(BenchmarkServer.OWNER_ID, state, 0, 10);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.enums.StateEnum;
+import ru.practicum.shareit.exceptions.UnknownStateException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор параметра state и выбор условия выборки так же, как в начале
+ * {@code BookingServiceImpl.findAll}; UNKNOWN проходит через исключение.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingStateBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED", "UNKNOWN"})
+    public String state;
+
+    @Benchmark
+    public Object dispatch() {
+        try {
+            StateEnum stateEnum = StateEnum.from(state)
+                    .orElseThrow(() -> new UnknownStateException(String.format("Unknown state: %s", state)));
+            Specification<Booking> spec = BookingSpecifications.byBooker(1L)
+                    .and(BookingSpecifications.byState(stateEnum, LocalDateTime.now()));
+            return spec;
+        } catch (UnknownStateException e) {
+            return e;
+        }
+    }
+}
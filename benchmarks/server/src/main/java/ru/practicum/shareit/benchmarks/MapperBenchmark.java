@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.mapper.CommentMapper;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemInDto;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мапперы, через которые проходит каждый элемент списков бронирований, вещей и отзывов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Booking booking;
+    private Item item;
+    private Comment comment;
+    private ItemInDto itemInDto;
+    private User owner;
+
+    @Setup
+    public void setUp() {
+        owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+        item = Item.builder().id(10L).name("Дрель").description("Дрель ударная").available(true).owner(owner).build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        booking = Booking.builder()
+                .id(100L)
+                .start(start)
+                .end(start.plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(StatusEnum.APPROVED)
+                .build();
+        comment = Comment.builder().id(1000L).text("Отличная дрель").item(item).user(booker)
+                .created(LocalDateTime.now()).build();
+        itemInDto = ItemInDto.builder().name("Пила").description("Пила по дереву").available(true).build();
+    }
+
+    @Benchmark
+    public BookingOutDto bookingToOutDto() {
+        return BookingMapper.toBookingOutDto(booking);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemOutDto itemToOutDto() {
+        return ItemMapper.toItemOutDto(item);
+    }
+
+    @Benchmark
+    public Item itemFromInDto() {
+        return ItemMapper.toItem(itemInDto, owner);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return CommentMapper.toCommentDto(comment);
+    }
+}
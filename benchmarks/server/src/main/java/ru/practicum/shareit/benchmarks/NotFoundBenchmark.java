@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.errorHandler.ErrorHandler;
+import ru.practicum.shareit.errorHandler.ErrorResponse;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Путь 404: исключение «не найдено» бросается на глубине {@code depth} кадров (в Spring MVC сервис
+ * вызывается примерно на сотом) и превращается в ответ {@code ErrorHandler}. {@code stackless} —
+ * нынешний {@link ObjectNotFoundException} без стека, {@code withStackTrace} — прежний вариант
+ * от {@link RuntimeException} с заполнением стека.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+    private static final long ITEM_ID = 42L;
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private final ErrorHandler errorHandler = new ErrorHandler();
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> stackless() {
+        try {
+            return throwAt(depth, true);
+        } catch (ObjectNotFoundException e) {
+            return errorHandler.handleAbsentObject(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> withStackTrace() {
+        try {
+            return throwAt(depth, false);
+        } catch (StackTraceNotFoundException e) {
+            return new ResponseEntity<>(new ErrorResponse("Объект не найден", e.getMessage()), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private static ResponseEntity<ErrorResponse> throwAt(int depth, boolean stackless) {
+        if (depth > 0) {
+            return throwAt(depth - 1, stackless);
+        }
+        String message = String.format("Вещь с id %d не найдена", ITEM_ID);
+        throw stackless ? new ObjectNotFoundException(message) : new StackTraceNotFoundException(message);
+    }
+
+    /**
+     * {@code ObjectNotFoundException} до перехода на {@code ShareItException}.
+     */
+    private static class StackTraceNotFoundException extends RuntimeException {
+
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
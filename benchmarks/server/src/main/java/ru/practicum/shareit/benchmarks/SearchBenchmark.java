@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.service.ItemSearch;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Первая страница поиска вещей {@code ItemService.getByText} при {@code items} вещах в базе:
+ * {@code "вещь 1"} совпадает с названиями и описаниями части вещей, {@code "нет такой"} — ни с чем,
+ * и в режиме {@code LIKE} подсчёт страниц проходит все вещи. {@code search} — режим {@code ItemSearch}:
+ * на H2 есть только {@code LIKE}, триграммные индексы из {@code schema-postgresql.sql} работают на PostgreSQL:
+ * {@code -Dbench.url=jdbc:postgresql://... -p search=LIKE,TRIGRAM} сравнивает на одной базе запрос LIKE
+ * с сортировкой по совпадению в названии и запрос с сортировкой по {@code similarity}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int items;
+
+    @Param({"вещь 1", "нет такой"})
+    public String text;
+
+    @Param({"LIKE"})
+    public ItemSearch.Mode search;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkServer.start("--shareit.items.search=" + search);
+        itemService = context.getBean(ItemService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seedUsers(jdbc);
+        BenchmarkServer.seedItems(jdbc, items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<ItemOutDto> search() {
+        return itemService.getByText(text, 0, 10);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вызовы сервисов на H2 в памяти с заранее заполненной базой ({@link BenchmarkServer}): 100 владельцев,
+ * 1000 бронирующих, 1000 вещей по 5 отзывов и {@code bookings} бронирований.
+ * Замеряется весь путь сервиса: транзакция, запросы Hibernate и маппинг в DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ServiceBenchmark {
+    private static final int ITEMS = 1000;
+    private static final long ITEM_ID = 1L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkServer.start();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seedUsers(jdbc);
+        BenchmarkServer.seedItems(jdbc, ITEMS);
+        BenchmarkServer.seedBookings(jdbc, ITEMS, bookings);
+        BenchmarkServer.seedCommentsAndSummaries(jdbc, context.getBean(ItemSummaryService.class), ITEMS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<ItemOutDto> itemsOfOwner() {
+        return itemService.getAllByUserId(BenchmarkServer.OWNER_ID, 0, 10);
+    }
+
+    @Benchmark
+    public ItemOutDto itemById() {
+        return itemService.getItemById(ITEM_ID, BenchmarkServer.OWNER_ID);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> bookingsOfBooker() {
+        return bookingService.findAllForUser(BenchmarkServer.BOOKER_ID, "ALL", 0, 10);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> pastBookingsOfOwner() {
+        return bookingService.findAllForOwner(BenchmarkServer.OWNER_ID, "PAST", 0, 10);
+    }
+}
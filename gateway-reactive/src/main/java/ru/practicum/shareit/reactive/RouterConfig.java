@@ -0,0 +1,72 @@
+package ru.practicum.shareit.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import ru.practicum.shareit.reactive.booking.BookingHandler;
+import ru.practicum.shareit.reactive.item.ItemHandler;
+import ru.practicum.shareit.reactive.itemRequest.ItemRequestHandler;
+import ru.practicum.shareit.reactive.user.UserHandler;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Те же адреса, что у контроллеров блокирующего шлюза.
+ */
+@Configuration
+public class RouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> bookingRoutes(BookingHandler handler) {
+        return route()
+                .path("/bookings", builder -> builder
+                        .GET("/owner/export", handler::exportForOwner)
+                        .GET("/owner", handler::findAllForOwner)
+                        .GET("/export", handler::exportForUser)
+                        .GET("/{bookingId}", handler::findBooking)
+                        .PATCH("/{bookingId}", handler::approveOrRejectBooking)
+                        .GET("", handler::findAllForUser)
+                        .POST("/batch", handler::importBookings)
+                        .POST("", handler::createBooking))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> itemRoutes(ItemHandler handler) {
+        return route()
+                .path("/items", builder -> builder
+                        .GET("/search", handler::getByText)
+                        .POST("/bulk", handler::bulkImportItems)
+                        .POST("/{itemId}/comment", handler::createComment)
+                        .GET("/{id}", handler::getItemById)
+                        .PATCH("/{itemId}", handler::updateItem)
+                        .DELETE("/{itemId}", handler::deleteItem)
+                        .GET("", handler::getAllByUserId)
+                        .POST("", handler::createItem))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> itemRequestRoutes(ItemRequestHandler handler) {
+        return route()
+                .path("/requests", builder -> builder
+                        .GET("/all", handler::getAllRequests)
+                        .GET("/{requestId}", handler::getOneRequest)
+                        .GET("", handler::getUsersRequests)
+                        .POST("", handler::createRequest))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler handler) {
+        return route()
+                .path("/users", builder -> builder
+                        .GET("/{id}", handler::getUserById)
+                        .PATCH("/{id}", handler::patchUser)
+                        .DELETE("/{id}", handler::deleteUser)
+                        .GET("", handler::getAllUsers)
+                        .POST("", handler::createUser))
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ShareItReactiveGateway {
+    public static void main(String[] args) {
+        SpringApplication.run(ShareItReactiveGateway.class, args);
+    }
+}
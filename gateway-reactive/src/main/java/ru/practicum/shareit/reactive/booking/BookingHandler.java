@@ -0,0 +1,97 @@
+package ru.practicum.shareit.reactive.booking;
+
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingImportDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.reactive.client.ShareItServerClient;
+import ru.practicum.shareit.reactive.validation.RequestParams;
+import ru.practicum.shareit.reactive.validation.RequestValidator;
+import ru.practicum.shareit.validation.ValidationGroups;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class BookingHandler {
+    private static final String API_PREFIX = "/bookings";
+
+    private final ShareItServerClient client;
+    private final RequestValidator validator;
+
+    public Mono<ServerResponse> findBooking(ServerRequest request) {
+        long bookingId = RequestParams.pathLong(request, "bookingId");
+        return client.get(API_PREFIX + "/{bookingId}", RequestParams.userId(request), Map.of("bookingId", bookingId));
+    }
+
+    public Mono<ServerResponse> findAllForUser(ServerRequest request) {
+        return findAll(request, API_PREFIX);
+    }
+
+    public Mono<ServerResponse> findAllForOwner(ServerRequest request) {
+        return findAll(request, API_PREFIX + "/owner");
+    }
+
+    public Mono<ServerResponse> exportForUser(ServerRequest request) {
+        return client.get(API_PREFIX + "/export", RequestParams.userId(request));
+    }
+
+    public Mono<ServerResponse> exportForOwner(ServerRequest request) {
+        return client.get(API_PREFIX + "/owner/export", RequestParams.userId(request));
+    }
+
+    public Mono<ServerResponse> createBooking(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        return validator.body(request, BookItemRequestDto.class, ValidationGroups.Create.class)
+                .flatMap(bookingDto -> {
+                    if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
+                        return Mono.error(new ValidationException(
+                                "Дата окончания бронирования должна быть позже даты начала"));
+                    }
+                    return client.post(API_PREFIX, userId, bookingDto);
+                });
+    }
+
+    public Mono<ServerResponse> importBookings(ServerRequest request) {
+        long ownerId = RequestParams.userId(request);
+        return validator.bodyList(request, BookingImportDto.class)
+                .flatMap(bookingDtos -> client.post(API_PREFIX + "/batch", ownerId, bookingDtos));
+    }
+
+    public Mono<ServerResponse> approveOrRejectBooking(ServerRequest request) {
+        long bookingId = RequestParams.pathLong(request, "bookingId");
+        boolean approved = RequestParams.requiredBoolean(request, "approved");
+        return client.patch(API_PREFIX + "/{bookingId}?approved={approved}", RequestParams.userId(request),
+                Map.of("bookingId", bookingId, "approved", approved), null);
+    }
+
+    private Mono<ServerResponse> findAll(ServerRequest request, String path) {
+        long userId = RequestParams.userId(request);
+        String state = RequestParams.param(request, "state", "ALL");
+        BookingState bookingState = BookingState.from(state)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+        int from = RequestParams.from(request);
+        int size = RequestParams.size(request);
+        Optional<String> after = RequestParams.param(request, "after");
+        if (after.isPresent()) {
+            Map<String, Object> parameters = Map.of(
+                    "state", bookingState.name(),
+                    "after", after.get(),
+                    "size", size
+            );
+            return client.get(path + "?state={state}&after={after}&size={size}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", bookingState.name(),
+                "from", from,
+                "size", size
+        );
+        return client.get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.reactive.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.client.ShareItServerProperties;
+
+/**
+ * Неблокирующий клиент сервера с общим пулом соединений; настройки те же, что у шлюза
+ * ({@code shareit-server.*}).
+ */
+@Configuration
+@EnableConfigurationProperties(ShareItServerProperties.class)
+public class ClientConfig {
+    static final String POOL_NAME = "shareit-server";
+
+    /**
+     * Метрики пула публикуются как {@code reactor.netty.connection.provider.*}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ShareItServerProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getKeepAlive())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareItServerWebClient(ShareItServerProperties properties, ConnectionProvider connectionProvider,
+                                            WebClient.Builder builder) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        return builder
+                .baseUrl(properties.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.reactive.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Пересылает запрос на сервер и отдаёт клиенту его ответ как есть: статус, заголовки и тело
+ * потоком буферов, без разбора JSON.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShareItServerClient {
+    /**
+     * Заголовки конкретного соединения с сервером, которые нельзя пересылать клиенту.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private final WebClient shareItServerWebClient;
+
+    public Mono<ServerResponse> get(String path, @Nullable Long userId) {
+        return get(path, userId, Collections.emptyMap());
+    }
+
+    public Mono<ServerResponse> get(String path, @Nullable Long userId, Map<String, ?> parameters) {
+        return exchange(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    public Mono<ServerResponse> post(String path, @Nullable Long userId, Object body) {
+        return post(path, userId, Collections.emptyMap(), body);
+    }
+
+    public Mono<ServerResponse> post(String path, @Nullable Long userId, Map<String, ?> parameters, Object body) {
+        return exchange(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    public Mono<ServerResponse> patch(String path, @Nullable Long userId, @Nullable Object body) {
+        return patch(path, userId, Collections.emptyMap(), body);
+    }
+
+    public Mono<ServerResponse> patch(String path, @Nullable Long userId, Map<String, ?> parameters,
+                                      @Nullable Object body) {
+        return exchange(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    public Mono<ServerResponse> delete(String path, @Nullable Long userId) {
+        return delete(path, userId, Collections.emptyMap());
+    }
+
+    public Mono<ServerResponse> delete(String path, @Nullable Long userId, Map<String, ?> parameters) {
+        return exchange(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    /**
+     * {@code path} — шаблон адреса вроде {@code /users/{id}}, значения подставляются из {@code parameters}.
+     * Шаблон, а не готовый адрес, попадает в метку {@code uri} метрики {@code http.client.requests},
+     * поэтому идентификаторы в адрес не склеиваются: каждый из них дал бы новое значение метки.
+     */
+    private Mono<ServerResponse> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                          Map<String, ?> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = shareItServerWebClient
+                .method(method)
+                .uri(path, parameters)
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(ShareItServerClient::prepareGatewayResponse);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, @Nullable Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private static Mono<ServerResponse> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        Flux<DataBuffer> body = response.getBody() != null ? response.getBody() : Flux.empty();
+        return ServerResponse.status(response.getStatusCode())
+                .headers(headers -> response.getHeaders().forEach((name, values) -> {
+                    if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                        headers.addAll(name, values);
+                    }
+                }))
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+}
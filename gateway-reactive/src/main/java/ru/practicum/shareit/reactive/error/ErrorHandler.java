@@ -0,0 +1,110 @@
+package ru.practicum.shareit.reactive.error;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.error.ErrorResponse;
+import ru.practicum.shareit.reactive.validation.BodyNotValidException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ошибки отдаются в том же виде и с теми же статусами, что и в {@code ru.practicum.shareit.error.ErrorHandler}
+ * блокирующего шлюза, и так же пишутся в лог: ошибки запроса одной строкой, стек только у непредвиденных.
+ * Ответ сервера, отклонившего первый пакет потокового импорта ({@link WebClientResponseException}),
+ * передаётся клиенту как есть. Стоит раньше стандартного обработчика Spring Boot.
+ */
+@Slf4j
+@Component
+@Order(-2)
+public class ErrorHandler implements WebExceptionHandler {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final ServerResponse.Context context;
+
+    public ErrorHandler(ServerCodecConfigurer codecConfigurer) {
+        List<HttpMessageWriter<?>> writers = codecConfigurer.getWriters();
+        this.context = new ServerResponse.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return writers;
+            }
+
+            @Override
+            public List<ViewResolver> viewResolvers() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable e) {
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(e);
+        }
+        return handleException(e).flatMap(response -> response.writeTo(exchange, context));
+    }
+
+    private Mono<ServerResponse> handleException(Throwable e) {
+        if (e instanceof BodyNotValidException) {
+            BodyNotValidException exception = (BodyNotValidException) e;
+            try {
+                log.warn(mapper.writeValueAsString(exception.getErrors()));
+            } catch (JsonProcessingException jsonException) {
+                log.warn(e.getMessage());
+            }
+            return respond(HttpStatus.BAD_REQUEST, new ErrorResponse(exception.getErrors()));
+        }
+        if (e instanceof ValidationException || e instanceof IllegalArgumentException) {
+            log.warn(e.getMessage());
+            return respond(HttpStatus.BAD_REQUEST, new ErrorResponse(e.getMessage()));
+        }
+        if (e instanceof ServerWebInputException) {
+            ServerWebInputException exception = (ServerWebInputException) e;
+            log.warn(exception.getReason());
+            return respond(HttpStatus.BAD_REQUEST, new ErrorResponse(exception.getReason()));
+        }
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException exception = (WebClientResponseException) e;
+            log.warn("Сервер отклонил запрос: {}", exception.getStatusCode());
+            return ServerResponse.status(exception.getStatusCode())
+                    .headers(headers -> headers.setContentType(exception.getHeaders().getContentType()))
+                    .bodyValue(exception.getResponseBodyAsByteArray());
+        }
+        if (e instanceof ResponseStatusException) {
+            ResponseStatusException exception = (ResponseStatusException) e;
+            if (exception.getStatusCode() == HttpStatus.NOT_FOUND) {
+                log.warn("Неизвестный запрос.");
+                return respond(HttpStatus.NOT_FOUND, new ErrorResponse("Неизвестный запрос."));
+            }
+            log.warn(exception.getReason());
+            return respond(exception.getStatusCode(), new ErrorResponse(exception.getReason()));
+        }
+        log.error("Произошла непредвиденная ошибка: " + e.getMessage(), e);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR,
+                new ErrorResponse("Произошла непредвиденная ошибка: " + e.getMessage()));
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatusCode status, ErrorResponse errorResponse) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponse);
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.reactive.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.reactive.validation.RequestParams;
+import ru.practicum.shareit.validation.ValidationGroups;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт вещей, как {@code ItemBulkImporter} блокирующего шлюза: тело читается по строкам по мере
+ * поступления, записи проверяются как при создании вещи, прошедшие проверку отправляются серверу пакетами
+ * по {@code shareit-server.bulk-batch-size} в NDJSON, итоги отдаются в порядке записей после ответа сервера
+ * на пакет. Запись CSV занимает одну строку. Если сервер отклонил первый пакет, ошибка
+ * {@code WebClientResponseException} несёт его ответ, и он передаётся клиенту как есть.
+ */
+@Component
+public class ItemBulkImporter {
+    public static final String CSV_VALUE = "text/csv";
+
+    private static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+    private static final String BULK_PATH = "/items/bulk";
+
+    private final WebClient shareItServerWebClient;
+    private final Validator validator;
+    private final StringDecoder lineDecoder = StringDecoder.allMimeTypes();
+    private final ObjectReader ndjsonReader;
+    private final ObjectMapper csvMapper;
+    private final ObjectWriter itemWriter;
+    private final int batchSize;
+
+    public ItemBulkImporter(WebClient shareItServerWebClient,
+                            Validator validator,
+                            Jackson2ObjectMapperBuilder mapperBuilder,
+                            ShareItServerProperties properties) {
+        this.shareItServerWebClient = shareItServerWebClient;
+        this.validator = validator;
+        ObjectMapper mapper = mapperBuilder.build();
+        this.ndjsonReader = mapper.readerFor(ItemDto.class);
+        this.itemWriter = mapper.writerFor(ItemDto.class);
+        this.csvMapper = mapperBuilder.factory(new CsvFactory()).build();
+        this.batchSize = properties.getBulkBatchSize();
+    }
+
+    /**
+     * Следующий пакет читается, только когда итоги предыдущего отданы, так что в памяти не больше двух пакетов.
+     */
+    public Flux<ItemBulkResult> importItems(long userId, MediaType contentType, Flux<DataBuffer> body) {
+        Flux<String> lines = lineDecoder.decode(body, ResolvableType.forClass(String.class), null,
+                Collections.emptyMap());
+        return Flux.defer(() -> {
+                    RecordReader reader = new RecordReader(CSV.isCompatibleWith(contentType));
+                    return lines.filter(line -> !line.isBlank())
+                            .<ItemBulkRecord>handle(reader::read)
+                            .takeUntil(ItemBulkRecord::isLast);
+                })
+                .buffer(batchSize)
+                .index()
+                .concatMap(batch -> send(batch.getT2(), userId, batch.getT1() == 0), 1);
+    }
+
+    private ItemBulkRecord validate(long line, ItemDto item) {
+        String errors = validator.validate(item, ValidationGroups.Create.class).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return errors.isEmpty() ? ItemBulkRecord.parsed(line, item) : ItemBulkRecord.failed(line, errors, false);
+    }
+
+    private Flux<ItemBulkResult> send(List<ItemBulkRecord> batch, long userId, boolean first) {
+        List<ItemBulkRecord> valid = batch.stream()
+                .filter(record -> record.getItem() != null)
+                .collect(Collectors.toList());
+        Mono<Map<Long, ItemBulkResult>> saved = valid.isEmpty()
+                ? Mono.just(Collections.emptyMap())
+                : shareItServerWebClient.post()
+                .uri(BULK_PATH)
+                .header(RequestParams.USER_ID_HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .bodyValue(toNdjson(valid))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToFlux(ItemBulkResult.class)
+                                .doOnNext(result -> result.setLine(valid.get((int) result.getLine() - 1).getLine()))
+                                .collectMap(ItemBulkResult::getLine, Function.identity());
+                    }
+                    if (first) {
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    String error = "Пакет не сохранён: ответ сервера " + response.statusCode().value();
+                    return response.releaseBody().thenReturn(valid.stream()
+                            .collect(Collectors.toMap(ItemBulkRecord::getLine,
+                                    record -> ItemBulkResult.failed(record.getLine(), error))));
+                });
+        return saved.flatMapIterable(results -> batch.stream()
+                .map(record -> record.getError() != null
+                        ? ItemBulkResult.failed(record.getLine(), record.getError())
+                        : results.getOrDefault(record.getLine(),
+                        ItemBulkResult.failed(record.getLine(), "Нет ответа сервера")))
+                .collect(Collectors.toList()));
+    }
+
+    private byte[] toNdjson(List<ItemBulkRecord> records) {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        try {
+            for (ItemBulkRecord record : records) {
+                ndjson.write(itemWriter.writeValueAsBytes(record.getItem()));
+                ndjson.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ndjson.toByteArray();
+    }
+
+    /**
+     * Разбор строк одного импорта: NDJSON — объект JSON на строку, CSV — заголовок из имён полей
+     * {@link ItemDto}, затем по записи на строку. Неразборчивая запись, как и в блокирующем шлюзе,
+     * останавливает импорт; неразобранный заголовок CSV тоже.
+     */
+    private class RecordReader {
+        private ObjectReader reader;
+        private long line;
+
+        RecordReader(boolean csv) {
+            this.reader = csv ? null : ndjsonReader;
+        }
+
+        void read(String text, SynchronousSink<ItemBulkRecord> sink) {
+            try {
+                if (reader == null) {
+                    reader = csvReader(text);
+                    return;
+                }
+                line++;
+                sink.next(validate(line, reader.readValue(text)));
+            } catch (DatabindException e) {
+                sink.next(ItemBulkRecord.failed(line, "Некорректная запись: " + e.getOriginalMessage(), reader == null));
+            } catch (JsonProcessingException e) {
+                sink.next(ItemBulkRecord.failed(line, "Некорректная запись: " + e.getOriginalMessage(), true));
+            }
+        }
+
+        private ObjectReader csvReader(String header) throws JsonProcessingException {
+            String[] columns = csvMapper.readerFor(String[].class).readValue(header);
+            CsvSchema.Builder schema = CsvSchema.builder();
+            for (String column : columns) {
+                schema.addColumn(column);
+            }
+            return csvMapper.readerFor(ItemDto.class)
+                    .with(schema.build())
+                    .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class ItemBulkRecord {
+        private final long line;
+        private final ItemDto item;
+        private final String error;
+        private final boolean last;
+
+        static ItemBulkRecord parsed(long line, ItemDto item) {
+            return new ItemBulkRecord(line, item, null, false);
+        }
+
+        static ItemBulkRecord failed(long line, String error, boolean last) {
+            return new ItemBulkRecord(line, null, error, last);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.reactive.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.reactive.client.ShareItServerClient;
+import ru.practicum.shareit.reactive.validation.RequestParams;
+import ru.practicum.shareit.reactive.validation.RequestValidator;
+import ru.practicum.shareit.validation.CheckBlank;
+import ru.practicum.shareit.validation.ValidationGroups;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ItemHandler {
+    private static final String API_PREFIX = "/items";
+    private static final List<MediaType> BULK_TYPES = List.of(MediaType.APPLICATION_NDJSON,
+            MediaType.parseMediaType(ItemBulkImporter.CSV_VALUE));
+
+    private final ShareItServerClient client;
+    private final RequestValidator validator;
+    private final ItemBulkImporter bulkImporter;
+
+    public Mono<ServerResponse> createItem(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        return validator.body(request, ItemDto.class, ValidationGroups.Create.class)
+                .flatMap(itemDto -> client.post(API_PREFIX, userId, itemDto));
+    }
+
+    /**
+     * Импорт из NDJSON или CSV потоком; в ответе — итог по каждой записи строкой NDJSON.
+     */
+    public Mono<ServerResponse> bulkImportItems(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        MediaType contentType = request.headers().contentType().orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (BULK_TYPES.stream().noneMatch(type -> type.isCompatibleWith(contentType))) {
+            throw new UnsupportedMediaTypeStatusException(contentType, BULK_TYPES);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bulkImporter.importItems(userId, contentType, request.body(BodyExtractors.toDataBuffers())),
+                        ItemBulkResult.class);
+    }
+
+    public Mono<ServerResponse> createComment(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        long itemId = RequestParams.pathLong(request, "itemId");
+        return validator.body(request, CommentDto.class, ValidationGroups.Create.class)
+                .flatMap(commentDto -> client.post(API_PREFIX + "/{itemId}/comment", userId,
+                        Map.of("itemId", itemId), commentDto));
+    }
+
+    public Mono<ServerResponse> updateItem(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        long itemId = RequestParams.pathLong(request, "itemId");
+        return validator.body(request, ItemDto.class, ValidationGroups.Update.class)
+                .flatMap(itemDto -> {
+                    if (itemDto.getName() != null) {
+                        CheckBlank.checkNotBlank(itemDto.getName(), "Название");
+                    }
+                    if (itemDto.getDescription() != null) {
+                        CheckBlank.checkNotBlank(itemDto.getDescription(), "Описание");
+                    }
+                    return client.patch(API_PREFIX + "/{itemId}", userId, Map.of("itemId", itemId), itemDto);
+                });
+    }
+
+    public Mono<ServerResponse> getItemById(ServerRequest request) {
+        long id = RequestParams.pathLong(request, "id");
+        return client.get(API_PREFIX + "/{id}", RequestParams.userId(request), Map.of("id", id));
+    }
+
+    public Mono<ServerResponse> getAllByUserId(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        Map<String, Object> parameters = Map.of(
+                "from", RequestParams.from(request),
+                "size", RequestParams.size(request)
+        );
+        return client.get(API_PREFIX + "?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ServerResponse> getByText(ServerRequest request) {
+        String text = RequestParams.requiredParam(request, "text");
+        long userId = RequestParams.userId(request);
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", RequestParams.from(request),
+                "size", RequestParams.size(request)
+        );
+        return client.get(API_PREFIX + "/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ServerResponse> deleteItem(ServerRequest request) {
+        long itemId = RequestParams.pathLong(request, "itemId");
+        return client.delete(API_PREFIX + "/{itemId}", RequestParams.userId(request), Map.of("itemId", itemId));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.reactive.itemRequest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.reactive.client.ShareItServerClient;
+import ru.practicum.shareit.reactive.validation.RequestParams;
+import ru.practicum.shareit.reactive.validation.RequestValidator;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ItemRequestHandler {
+    private static final String API_PREFIX = "/requests";
+
+    private final ShareItServerClient client;
+    private final RequestValidator validator;
+
+    public Mono<ServerResponse> getUsersRequests(ServerRequest request) {
+        return client.get(API_PREFIX, RequestParams.userId(request));
+    }
+
+    public Mono<ServerResponse> getAllRequests(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        Map<String, Object> parameters = Map.of(
+                "from", RequestParams.from(request),
+                "size", RequestParams.size(request)
+        );
+        return client.get(API_PREFIX + "/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ServerResponse> getOneRequest(ServerRequest request) {
+        long requestId = RequestParams.pathLong(request, "requestId");
+        return client.get(API_PREFIX + "/{requestId}", RequestParams.userId(request), Map.of("requestId", requestId));
+    }
+
+    public Mono<ServerResponse> createRequest(ServerRequest request) {
+        long userId = RequestParams.userId(request);
+        return validator.body(request, ItemRequestDto.class)
+                .flatMap(itemRequestDto -> client.post(API_PREFIX, userId, itemRequestDto));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.reactive.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.reactive.client.ShareItServerClient;
+import ru.practicum.shareit.reactive.validation.RequestParams;
+import ru.practicum.shareit.reactive.validation.RequestValidator;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.validation.CheckBlank;
+import ru.practicum.shareit.validation.ValidationGroups;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class UserHandler {
+    private static final String API_PREFIX = "/users";
+
+    private final ShareItServerClient client;
+    private final RequestValidator validator;
+
+    public Mono<ServerResponse> createUser(ServerRequest request) {
+        return validator.body(request, UserDto.class, ValidationGroups.Create.class)
+                .flatMap(userDto -> client.post(API_PREFIX, null, userDto));
+    }
+
+    public Mono<ServerResponse> patchUser(ServerRequest request) {
+        long id = RequestParams.pathLong(request, "id");
+        return validator.body(request, UserDto.class, ValidationGroups.Update.class)
+                .flatMap(userDto -> {
+                    if (userDto.getName() != null) {
+                        CheckBlank.checkNotBlank(userDto.getName(), "Имя");
+                    }
+                    if (userDto.getEmail() != null) {
+                        CheckBlank.checkNotBlank(userDto.getEmail(), "Email");
+                    }
+                    return client.patch(API_PREFIX + "/{id}", null, Map.of("id", id), userDto);
+                });
+    }
+
+    public Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        return client.get(API_PREFIX, null);
+    }
+
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        return client.get(API_PREFIX + "/{id}", null, Map.of("id", RequestParams.pathLong(request, "id")));
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return client.delete(API_PREFIX + "/{id}", null, Map.of("id", RequestParams.pathLong(request, "id")));
+    }
+}
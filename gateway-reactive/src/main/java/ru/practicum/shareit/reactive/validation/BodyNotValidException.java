@@ -0,0 +1,19 @@
+package ru.practicum.shareit.reactive.validation;
+
+import jakarta.validation.ValidationException;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Тело запроса не прошло проверку; ошибки собраны по полям.
+ */
+@Getter
+public class BodyNotValidException extends ValidationException {
+    private final Map<String, String> errors;
+
+    public BodyNotValidException(Map<String, String> errors) {
+        super(errors.toString());
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.reactive.validation;
+
+import jakarta.validation.ValidationException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Optional;
+
+/**
+ * Разбор и проверка заголовков, переменных пути и параметров запроса так же, как в контроллерах шлюза.
+ */
+public final class RequestParams {
+    public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private RequestParams() {
+    }
+
+    public static long userId(ServerRequest request) {
+        String value = request.headers().firstHeader(USER_ID_HEADER);
+        if (value == null) {
+            throw new ServerWebInputException(String.format(
+                    "Required request header '%s' for method parameter type Long is not present", USER_ID_HEADER));
+        }
+        return toLong(USER_ID_HEADER, value);
+    }
+
+    public static long pathLong(ServerRequest request, String name) {
+        return toLong(name, request.pathVariable(name));
+    }
+
+    public static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new ServerWebInputException(String.format(
+                        "Required request parameter '%s' is not present", name)));
+    }
+
+    public static Optional<String> param(ServerRequest request, String name) {
+        return request.queryParam(name);
+    }
+
+    public static String param(ServerRequest request, String name, String defaultValue) {
+        return request.queryParam(name).orElse(defaultValue);
+    }
+
+    public static boolean requiredBoolean(ServerRequest request, String name) {
+        String value = requiredParam(request, name);
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw typeMismatch(name, value, Boolean.class);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    public static int from(ServerRequest request) {
+        int from = toInt("from", param(request, "from", "0"));
+        if (from < 0) {
+            throw new ValidationException("from: Индекс первого элемента не может быть отрицательным!");
+        }
+        return from;
+    }
+
+    public static int size(ServerRequest request) {
+        int size = toInt("size", param(request, "size", "10"));
+        if (size <= 0) {
+            throw new ValidationException("size: Количество элементов должно быть положительным!");
+        }
+        return size;
+    }
+
+    private static long toLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw typeMismatch(name, value, Long.class);
+        }
+    }
+
+    private static int toInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw typeMismatch(name, value, Integer.class);
+        }
+    }
+
+    private static ValidationException typeMismatch(String name, String value, Class<?> requiredType) {
+        return new ValidationException(String.format("Переменная %s: %s должна быть %s.",
+                name, value, requiredType.getSimpleName()));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.reactive.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Проверка тел запросов по аннотациям DTO шлюза с учётом групп {@code ValidationGroups}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestValidator {
+    private final Validator validator;
+
+    public <T> Mono<T> body(ServerRequest request, Class<T> type, Class<?>... groups) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Тело запроса не может быть пустым")))
+                .doOnNext(body -> validate(body, groups));
+    }
+
+    /**
+     * Тело-массив проверяется поэлементно; поля ошибок получают индекс элемента, например {@code [0].itemId}.
+     */
+    public <T> Mono<List<T>> bodyList(ServerRequest request, Class<T> type, Class<?>... groups) {
+        return request.bodyToFlux(type)
+                .collectList()
+                .doOnNext(bodies -> {
+                    Map<String, String> errors = new HashMap<>();
+                    for (int i = 0; i < bodies.size(); i++) {
+                        collect(errors, "[" + i + "].", bodies.get(i), groups);
+                    }
+                    if (!errors.isEmpty()) {
+                        throw new BodyNotValidException(errors);
+                    }
+                });
+    }
+
+    public <T> void validate(T body, Class<?>... groups) {
+        Map<String, String> errors = new HashMap<>();
+        collect(errors, "", body, groups);
+        if (!errors.isEmpty()) {
+            throw new BodyNotValidException(errors);
+        }
+    }
+
+    private <T> void collect(Map<String, String> errors, String prefix, T body, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body, groups);
+        violations.forEach(violation -> errors.put(prefix + violation.getPropertyPath(), violation.getMessage()));
+    }
+}
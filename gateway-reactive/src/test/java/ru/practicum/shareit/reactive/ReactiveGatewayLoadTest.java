@@ -0,0 +1,106 @@
+package ru.practicum.shareit.reactive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тысячи одновременных запросов через шлюз к медленному серверу: все они ждут ответа одновременно,
+ * хотя потоков обработки у шлюза единицы. Обращения к серверу попадают в метрику под шаблоном адреса,
+ * а не под тысячами разных адресов.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit-server.max-connections=3000", "shareit-server.connection-request-timeout=60s"})
+public class ReactiveGatewayLoadTest {
+    private static final int REQUESTS = 2000;
+    private static final Duration SERVER_DELAY = Duration.ofSeconds(3);
+
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger PEAK_IN_FLIGHT = new AtomicInteger();
+
+    private static final DisposableServer SERVER = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes.get("/users/{id}", (request, response) -> {
+                PEAK_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+                return response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(SERVER_DELAY)
+                                .doOnNext(ignored -> IN_FLIGHT.decrementAndGet())
+                                .map(ignored -> "{\"id\":" + request.param("id") + "}"));
+            }))
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.disposeNow();
+    }
+
+    @Test
+    void shouldHoldThousandsOfRequestsInFlight() {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(REQUESTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        try {
+            Long succeeded = Flux.range(0, REQUESTS)
+                    .flatMap(id -> webClient.get().uri("/users/{id}", id)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .filter(body -> body.equals("{\"id\":" + id + "}")), REQUESTS)
+                    .count()
+                    .block(Duration.ofSeconds(60));
+
+            long eventLoopThreads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("reactor-http-"))
+                    .count();
+            assertEquals(REQUESTS, succeeded);
+            assertTrue(PEAK_IN_FLIGHT.get() >= REQUESTS / 2,
+                    "Одновременно у сервера было запросов: " + PEAK_IN_FLIGHT.get());
+            assertTrue(eventLoopThreads <= Math.max(4, Runtime.getRuntime().availableProcessors()),
+                    "Потоков обработки: " + eventLoopThreads);
+            Set<String> uris = meterRegistry.find("http.client.requests").timers().stream()
+                    .map(timer -> timer.getId().getTag("uri"))
+                    .collect(Collectors.toSet());
+            assertEquals(Set.of("/users/{id}"), uris);
+        } finally {
+            connectionProvider.disposeLater().block();
+        }
+    }
+}
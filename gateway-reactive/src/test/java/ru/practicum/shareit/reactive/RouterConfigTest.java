@@ -0,0 +1,295 @@
+package ru.practicum.shareit.reactive;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingImportDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+public class RouterConfigTest {
+    private static final List<Long> BULK_BATCHES = new CopyOnWriteArrayList<>();
+    private static final AtomicLong BULK_IDS = new AtomicLong(100);
+    private static final DisposableServer SERVER = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes
+                    .get("/bookings", (request, response) -> response
+                            .header("Content-Type", "application/json")
+                            .header("X-Next-Cursor", "2030-01-01T12:00,5")
+                            .sendString(Mono.just("[{\"id\":1,\"query\":\"" + request.uri()
+                                    + "\",\"userId\":\"" + request.requestHeaders().get("X-Sharer-User-Id")
+                                    + "\"}]"), StandardCharsets.UTF_8))
+                    .post("/items/bulk", (request, response) -> {
+                        if ("404".equals(request.requestHeaders().get("X-Sharer-User-Id"))) {
+                            return response.status(404)
+                                    .header("Content-Type", "application/json")
+                                    .sendString(Mono.just("{\"error\":\"Пользователь с id 404 не найден\"}"),
+                                            StandardCharsets.UTF_8);
+                        }
+                        return response.header("Content-Type", "application/x-ndjson")
+                                .sendString(request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                                        .map(ndjson -> {
+                                            BULK_BATCHES.add(ndjson.lines().count());
+                                            StringBuilder results = new StringBuilder();
+                                            for (int line = 1; line <= ndjson.lines().count(); line++) {
+                                                results.append("{\"line\":").append(line).append(",\"id\":")
+                                                        .append(BULK_IDS.incrementAndGet()).append("}\n");
+                                            }
+                                            return results.toString();
+                                        }), StandardCharsets.UTF_8);
+                    })
+                    .post("/bookings/batch", (request, response) -> response
+                            .header("Content-Type", "application/json")
+                            .send(request.receive().retain()))
+                    .post("/bookings", (request, response) -> response
+                            .status(201)
+                            .header("Content-Type", "application/json")
+                            .send(request.receive().retain()))
+                    .get("/users/{id}", (request, response) -> response
+                            .status(404)
+                            .header("Content-Type", "application/json")
+                            .sendString(Mono.just("{\"error\":\"Пользователь с id "
+                                    + request.param("id") + " не найден\"}"), StandardCharsets.UTF_8)))
+            .bindNow();
+
+    @Autowired
+    private WebTestClient client;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.port());
+        registry.add("shareit-server.bulk-batch-size", () -> 2);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.disposeNow();
+    }
+
+    @Test
+    void shouldPassServerResponseThrough() {
+        client.get().uri("/bookings?state=future&size=5")
+                .header("X-Sharer-User-Id", "3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals("X-Next-Cursor", "2030-01-01T12:00,5")
+                .expectBody()
+                .jsonPath("$[0].query").isEqualTo("/bookings?state=FUTURE&from=0&size=5")
+                .jsonPath("$[0].userId").isEqualTo("3");
+
+        client.get().uri("/users/7")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Пользователь с id 7 не найден");
+    }
+
+    @Test
+    void shouldSendValidatedBody() {
+        BookItemRequestDto booking = BookItemRequestDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 12, 0))
+                .build();
+        client.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "3")
+                .bodyValue(booking)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.itemId").isEqualTo(1)
+                .jsonPath("$.start").isEqualTo("2030-01-01T12:00:00");
+
+        booking.setEnd(LocalDateTime.of(2029, 12, 31, 12, 0));
+        client.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "3")
+                .bodyValue(booking)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Дата окончания бронирования должна быть позже даты начала");
+    }
+
+    @Test
+    void shouldValidateEveryImportedBooking() {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        List<BookingImportDto> bookings = List.of(
+                BookingImportDto.builder().itemId(1L).bookerId(2L).start(start).end(start.plusDays(1))
+                        .status(BookingStatus.APPROVED).build(),
+                BookingImportDto.builder().itemId(1L).start(start.plusDays(2)).end(start.plusDays(3)).build());
+        client.post().uri("/bookings/batch")
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(bookings)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.validationErrors['[1].bookerId']")
+                .isEqualTo("Не указан пользователь, забронировавший вещь");
+
+        bookings.get(1).setBookerId(2L);
+        client.post().uri("/bookings/batch")
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(bookings)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].status").isEqualTo("APPROVED")
+                .jsonPath("$[1].start").isEqualTo("2020-01-03T12:00:00");
+    }
+
+    @Test
+    void shouldImportOnlyValidItemsInBatches() {
+        String csv = """
+                name,description,available
+                Дрель,Дрель,true
+                ,Без названия,true
+                Пила,Пила,false
+                Молоток,Молоток,
+                Отвёртка,Отвёртка,true
+                """;
+        BULK_BATCHES.clear();
+        List<ItemBulkResult> results = client.post().uri("/items/bulk")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ItemBulkResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(ItemBulkResult::getLine).toList());
+        assertNotNull(results.get(0).getId());
+        assertEquals("Название не может быть пустым", results.get(1).getError());
+        assertNotNull(results.get(2).getId());
+        assertEquals("Поле доступности вещи не может быть пустым", results.get(3).getError());
+        assertNotNull(results.get(4).getId());
+        assertEquals(List.of(1L, 1L, 1L), BULK_BATCHES);
+
+        String ndjson = """
+                {"name":"Дрель","description":"Дрель","available":true}
+                {"name":"Пила",
+                {"name":"Молоток","description":"Молоток","available":true}
+                """;
+        results = client.post().uri("/items/bulk")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(ndjson)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ItemBulkResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of(1L, 2L), results.stream().map(ItemBulkResult::getLine).toList());
+        assertNotNull(results.get(0).getId());
+        assertTrue(results.get(1).getError().startsWith("Некорректная запись"));
+    }
+
+    @Test
+    void shouldPassServerErrorForFirstBulkBatch() {
+        client.post().uri("/items/bulk")
+                .header("X-Sharer-User-Id", "404")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"name\":\"Дрель\",\"description\":\"Дрель\",\"available\":true}\n")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Пользователь с id 404 не найден");
+
+        client.post().uri("/items/bulk")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isEqualTo(415);
+    }
+
+    @Test
+    void shouldValidateLikeBlockingGateway() {
+        client.post().uri("/users")
+                .bodyValue(UserDto.builder().name("").email("mail").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.validationErrors.name").isEqualTo("Имя не может быть пустым")
+                .jsonPath("$.validationErrors.email").isEqualTo("Введен некорректный e-mail");
+
+        client.patch().uri("/users/1")
+                .bodyValue(UserDto.builder().name(" ").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Имя не может быть пустым");
+
+        client.get().uri("/bookings/owner?state=QWERTY")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unknown state: QWERTY");
+
+        client.get().uri("/items?from=-1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error", containsString("Индекс первого элемента не может быть отрицательным!"));
+
+        client.get().uri("/requests/all?size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error", containsString("Количество элементов должно быть положительным!"));
+
+        client.get().uri("/items/abc")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Переменная id: abc должна быть Long.");
+
+        client.get().uri("/bookings/1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error", containsString("X-Sharer-User-Id"));
+
+        client.get().uri("/unknown")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Неизвестный запрос.");
+    }
+}
@@ -1,17 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingImportDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerProperties;
 
-import javax.validation.ValidationException;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -19,11 +21,12 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(ShareItServerProperties properties, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -33,9 +36,17 @@ public class BookingClient extends BaseClient {
     }
 
 
-    public ResponseEntity<Object> findAllForUser(long userId, String state, Integer from, Integer size) {
+    public ResponseEntity<Object> findAllForUser(long userId, String state, Integer from, Integer size, String after) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", bookingState.name(),
+                    "after", after,
+                    "size", size
+            );
+            return get("?state={state}&after={after}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", bookingState.name(),
                 "from", from,
@@ -44,9 +55,17 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findAllForOwner(long ownerId, String state, Integer from, Integer size) {
+    public ResponseEntity<Object> findAllForOwner(long ownerId, String state, Integer from, Integer size, String after) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", bookingState.name(),
+                    "after", after,
+                    "size", size
+            );
+            return get("/owner?state={state}&after={after}&size={size}", ownerId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", bookingState.name(),
                 "from", from,
@@ -55,6 +74,17 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
 
+    /**
+     * Выгрузка NDJSON не буферизуется: тело ответа сервера передаётся клиенту потоком.
+     */
+    public ResponseEntity<Object> exportForUser(long userId) {
+        return get("/export", userId);
+    }
+
+    public ResponseEntity<Object> exportForOwner(long ownerId) {
+        return get("/owner/export", ownerId);
+    }
+
     public ResponseEntity<Object> createBooking(BookItemRequestDto bookingDto, long userId) {
         if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
             throw new ValidationException("Дата окончания бронирования должна быть позже даты начала");
@@ -62,6 +92,15 @@ public class BookingClient extends BaseClient {
         return post("", userId, bookingDto);
     }
 
+    public ResponseEntity<Object> importBookings(List<BookingImportDto> bookingDtos, long ownerId) {
+        for (BookingImportDto bookingDto : bookingDtos) {
+            if (!bookingDto.getEnd().isAfter(bookingDto.getStart())) {
+                throw new ValidationException("Дата окончания бронирования должна быть позже даты начала");
+            }
+        }
+        return post("/batch", ownerId, bookingDtos);
+    }
+
     public ResponseEntity<Object> approveOrRejectBooking(long ownerId, Boolean approved, Long bookingId) {
         return patch("/" + bookingId + "?approved=" + approved, ownerId);
     }
@@ -1,16 +1,18 @@
 package ru.practicum.shareit.booking;
 
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingImportDto;
 import ru.practicum.shareit.validation.ValidationGroups;
 
-import javax.validation.Valid;
-import javax.validation.constraints.Min;
-import javax.validation.constraints.Positive;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -34,8 +36,9 @@ public class BookingController {
                                                             @RequestParam(defaultValue = "0") Integer from,
                                                             @Positive(
                                                                     message = "Количество элементов должно быть положительным!")
-                                                            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingClient.findAllForUser(userId, state, from, size);
+                                                            @RequestParam(defaultValue = "10") Integer size,
+                                                            @RequestParam(required = false) String after) {
+        return bookingClient.findAllForUser(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
@@ -46,8 +49,19 @@ public class BookingController {
                                                   @RequestParam(defaultValue = "0") Integer from,
                                                   @Positive(
                                                           message = "Количество элементов должно быть положительным!")
-                                                  @RequestParam(defaultValue = "10") Integer size) {
-        return bookingClient.findAllForOwner(ownerId, state, from, size);
+                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                  @RequestParam(required = false) String after) {
+        return bookingClient.findAllForOwner(ownerId, state, from, size, after);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Object> exportForUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingClient.exportForUser(userId);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<Object> exportForOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingClient.exportForOwner(ownerId);
     }
 
     @PostMapping
@@ -58,6 +72,12 @@ public class BookingController {
         return bookingClient.createBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> importBookings(@RequestBody List<@Valid BookingImportDto> bookingDtos,
+                                                 @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingClient.importBookings(bookingDtos, ownerId);
+    }
+
     @PatchMapping("/{bookingId}")
     @Validated(ValidationGroups.Update.class)
     public ResponseEntity<Object> approveOrRejectBooking(@PathVariable Long bookingId,
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование из импортируемой истории: даты могут быть в прошлом, статус задаётся явно.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingImportDto {
+    @NotNull(message = "Не указана вещь для бронирования")
+    private Long itemId;
+    @NotNull(message = "Не указан пользователь, забронировавший вещь")
+    private Long bookerId;
+    @NotNull(message = "Дата начала бронирования не может быть пустой")
+    private LocalDateTime start;
+    @NotNull(message = "Дата окончания бронирования не может быть пустой")
+    private LocalDateTime end;
+    private BookingStatus status;
+}
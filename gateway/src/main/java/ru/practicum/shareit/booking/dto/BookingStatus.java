@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+public enum BookingStatus {
+    // Ожидает одобрения
+    WAITING,
+    // Подтверждено владельцем
+    APPROVED,
+    // Отклонено владельцем
+    REJECTED,
+    // Отменено создателем
+    CANCELED
+}
@@ -1,14 +1,39 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.observation.Observation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 public class BaseClient {
+    /**
+     * Заголовки конкретного соединения с сервером, которые нельзя пересылать клиенту.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private static final DefaultClientRequestObservationConvention OBSERVATION_CONVENTION =
+            new DefaultClientRequestObservationConvention();
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -24,7 +49,7 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, MediaType.APPLICATION_JSON, null);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -36,7 +61,14 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, MediaType.APPLICATION_JSON, body);
+    }
+
+    /**
+     * Тело уже сериализовано вызывающим (например, в NDJSON) и отправляется как есть.
+     */
+    protected ResponseEntity<Object> post(String path, long userId, MediaType contentType, byte[] body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, contentType, body);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -44,7 +76,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, MediaType.APPLICATION_JSON, body);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -60,7 +92,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, MediaType.APPLICATION_JSON, body);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -72,28 +104,70 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, MediaType.APPLICATION_JSON, null);
+    }
+
+    /**
+     * Ответ сервера не разбирается: статус и заголовки копируются, а тело отдаётся потоком
+     * прямо из соединения с сервером. Соединение возвращается в пул, когда тело дочитано.
+     * Обмен с сервером замеряется наблюдением {@code http.client.requests}: при включённой трассировке
+     * оно открывает клиентский спан и дописывает к заголовкам {@link #defaultHeaders} контекст трассы
+     * ({@code traceparent}), чтобы спаны сервера продолжили ту же трассу. На уровне DEBUG каждый обмен
+     * пишется в лог так же, как его писал {@code RestTemplate} (профиль {@code dev}).
+     */
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                          MediaType contentType, @Nullable T body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpResponse shareitServerResponse = null;
+        Observation observation = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().putAll(defaultHeaders(userId, contentType));
+            ClientRequestObservationContext context = new ClientRequestObservationContext(request);
+            observation = ClientHttpObservationDocumentation.HTTP_CLIENT_EXCHANGES
+                    .observation(null, OBSERVATION_CONVENTION, () -> context, rest.getObservationRegistry())
+                    .start();
+            log.debug("HTTP {} {}", method, uri);
+            if (body != null) {
+                writeBody(body, contentType, request);
+            }
+            shareitServerResponse = request.execute();
+            context.setResponse(shareitServerResponse);
+            log.debug("Response {}", shareitServerResponse.getStatusCode());
+            return prepareGatewayResponse(shareitServerResponse);
+        } catch (IOException e) {
+            if (shareitServerResponse != null) {
+                shareitServerResponse.close();
+            }
+            ResourceAccessException exception = new ResourceAccessException("I/O error on " + method
+                    + " request for \"" + uri + "\": " + e.getMessage(), e);
+            if (observation != null) {
+                observation.error(exception);
+            }
+            throw exception;
+        } finally {
+            if (observation != null) {
+                observation.stop();
+            }
+        }
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+    @SuppressWarnings("unchecked")
+    private <T> void writeBody(T body, MediaType contentType, ClientHttpRequest request) throws IOException {
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), contentType)) {
+                ((HttpMessageConverter<T>) converter).write(body, contentType, request);
+                return;
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        throw new RestClientException("Нет конвертера для тела запроса " + body.getClass().getName());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(contentType);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
@@ -101,17 +175,39 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(headers);
+
+        if (headers.getContentLength() == 0 || response.getStatusCode() == HttpStatus.NO_CONTENT
+                || response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            response.close();
+            return responseBuilder.build();
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        return responseBuilder.body(new InputStreamResource(new ResponseBodyStream(response)));
+    }
+
+    /**
+     * Тело ответа сервера; закрытие после записи клиенту освобождает соединение.
+     */
+    private static final class ResponseBodyStream extends FilterInputStream {
+        private final ClientHttpResponse response;
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        private ResponseBodyStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
         }
 
-        return responseBuilder.build();
+        @Override
+        public void close() {
+            response.close();
+        }
     }
-}
\ No newline at end of file
+}
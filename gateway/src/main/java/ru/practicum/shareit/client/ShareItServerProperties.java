@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки подключения шлюза к серверу ShareIt.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit-server")
+public class ShareItServerProperties {
+    /**
+     * Адрес сервера.
+     */
+    private String url;
+
+    /**
+     * Время на установку соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания данных ответа.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время ожидания свободного соединения в пуле.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Общий размер пула соединений.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Размер пула на один адрес; шлюз ходит только на сервер, поэтому по умолчанию совпадает с общим.
+     */
+    private int maxConnectionsPerRoute = 200;
+
+    /**
+     * Сколько держать соединение открытым, если сервер не прислал Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Через сколько простоя соединение проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Сколько записей потокового импорта отправлять серверу одним запросом.
+     */
+    private int bulkBatchSize = 1000;
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.error;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,12 +15,14 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
-import javax.validation.ConstraintViolationException;
-import javax.validation.ValidationException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Ошибки запроса клиента ожидаемы и пишутся в лог одной строкой без стека вызовов;
+ * стек выводится только для непредвиденных ошибок.
+ */
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
@@ -28,21 +32,21 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(final ValidationException e) {
-        log.error(e.getMessage(), e);
+        log.warn(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleIllegalArgumentException(final IllegalArgumentException e) {
-        log.error(e.getMessage(), e);
+        log.warn(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleConstraintViolationException(final ConstraintViolationException e) {
-        log.error(e.getMessage(), e);
+        log.warn(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
@@ -51,7 +55,7 @@ public class ErrorHandler {
     public ErrorResponse handleMethodArgumentTypeMismatchException(final MethodArgumentTypeMismatchException e) {
         ErrorResponse response = new ErrorResponse(String.format("Переменная %s: %s должна быть %s.",
                 e.getName(), e.getValue(), Objects.requireNonNull(e.getRequiredType()).getSimpleName()));
-        log.error("Переменная {}: {} должна быть {}.",
+        log.warn("Переменная {}: {} должна быть {}.",
                 e.getName(), e.getValue(), e.getRequiredType().getSimpleName());
         return response;
     }
@@ -65,21 +69,21 @@ public class ErrorHandler {
             String message = error.getDefaultMessage();
             errors.put(fieldName, message);
         });
-        log.error(mapper.writeValueAsString(errors), e);
+        log.warn(mapper.writeValueAsString(errors));
         return new ErrorResponse(errors);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMissingRequestHeaderException(final MissingRequestHeaderException e) {
-        log.error(e.getMessage(), e);
+        log.warn(e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNoHandlerFoundException(final NoHandlerFoundException e, WebRequest request) {
-        log.error("Неизвестный запрос.");
+        log.warn("Неизвестный запрос.");
         return new ErrorResponse("Неизвестный запрос.");
     }
 
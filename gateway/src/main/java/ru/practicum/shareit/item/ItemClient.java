@@ -1,13 +1,14 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerProperties;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.CheckBlank;
@@ -19,11 +20,12 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(ShareItServerProperties properties, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -32,6 +34,13 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    /**
+     * Пакет потокового импорта, уже записанный в NDJSON.
+     */
+    public ResponseEntity<Object> bulkImportItems(byte[] ndjson, long userId) {
+        return post("/bulk", userId, MediaType.APPLICATION_NDJSON, ndjson);
+    }
+
     public ResponseEntity<Object> createComment(CommentDto commentDto, long userId, long itemId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
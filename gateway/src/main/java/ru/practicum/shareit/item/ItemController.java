@@ -1,15 +1,21 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
+import ru.practicum.shareit.item.bulk.ItemBulkReader;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
-import javax.validation.Valid;
-import javax.validation.constraints.Min;
-import javax.validation.constraints.Positive;
+import java.io.IOException;
 
 import static ru.practicum.shareit.validation.ValidationGroups.Create;
 import static ru.practicum.shareit.validation.ValidationGroups.Update;
@@ -21,6 +27,7 @@ import static ru.practicum.shareit.validation.ValidationGroups.Update;
 public class ItemController {
 
     private final ItemClient itemClient;
+    private final ItemBulkImporter itemBulkImporter;
 
     @PostMapping
     @Validated(Create.class)
@@ -29,6 +36,17 @@ public class ItemController {
         return itemClient.createItem(itemDto, userId);
     }
 
+    /**
+     * Импорт из NDJSON или CSV потоком; в ответе — итог по каждой записи строкой NDJSON.
+     */
+    @PostMapping(value = "/bulk", consumes = {ItemBulkReader.NDJSON_VALUE, ItemBulkReader.CSV_VALUE})
+    public void bulkImportItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        itemBulkImporter.importItems(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream(), response);
+    }
+
     @PostMapping("/{itemId}/comment")
     @Validated(Create.class)
     public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto commentDto,
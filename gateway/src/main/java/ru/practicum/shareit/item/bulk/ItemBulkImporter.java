@@ -0,0 +1,177 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.validation.ValidationGroups;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт вещей через шлюз. Записи читаются по одной и проверяются как при создании вещи;
+ * прошедшие проверку отправляются серверу пакетами по {@code shareit-server.bulk-batch-size} в NDJSON.
+ * Итоги пишутся клиенту в порядке записей сразу после ответа сервера на пакет, так что в памяти
+ * держится не больше одного пакета. Если сервер отклонил первый пакет целиком (например, нет
+ * пользователя), его ответ передаётся клиенту как есть.
+ */
+@Service
+public class ItemBulkImporter {
+    private final ItemClient itemClient;
+    private final ItemBulkReader reader;
+    private final Validator validator;
+    private final ObjectWriter itemWriter;
+    private final ObjectWriter resultWriter;
+    private final ObjectReader resultReader;
+    private final int batchSize;
+
+    public ItemBulkImporter(ItemClient itemClient,
+                            ItemBulkReader reader,
+                            Validator validator,
+                            ObjectMapper objectMapper,
+                            ShareItServerProperties properties) {
+        this.itemClient = itemClient;
+        this.reader = reader;
+        this.validator = validator;
+        this.itemWriter = objectMapper.writerFor(ItemDto.class);
+        this.resultWriter = objectMapper.writerFor(ItemBulkResult.class);
+        this.resultReader = objectMapper.readerFor(ItemBulkResult.class);
+        this.batchSize = properties.getBulkBatchSize();
+    }
+
+    public void importItems(long userId, MediaType contentType, InputStream in,
+                            HttpServletResponse response) throws IOException {
+        List<ItemBulkLine> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<ItemDto> items = reader.read(in, contentType)) {
+            for (long line = 1; ; line++) {
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    batch.add(validate(line, items.nextValue()));
+                } catch (DatabindException e) {
+                    batch.add(ItemBulkLine.failed(line, "Некорректная запись: " + e.getOriginalMessage()));
+                } catch (StreamReadException e) {
+                    batch.add(ItemBulkLine.failed(line, "Некорректная запись: " + e.getOriginalMessage()));
+                    break;
+                }
+                if (batch.size() == batchSize) {
+                    if (!send(batch, userId, response)) {
+                        return;
+                    }
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty() && !send(batch, userId, response)) {
+            return;
+        }
+        startResults(response);
+        response.flushBuffer();
+    }
+
+    private ItemBulkLine validate(long line, ItemDto item) {
+        String errors = validator.validate(item, ValidationGroups.Create.class).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return errors.isEmpty() ? ItemBulkLine.parsed(line, item) : ItemBulkLine.failed(line, errors);
+    }
+
+    /**
+     * Отправляет проверенные записи пакета серверу и пишет итоги всех записей пакета.
+     * Возвращает false, если ответ сервера на первый пакет уже передан клиенту вместо итогов.
+     */
+    private boolean send(List<ItemBulkLine> batch, long userId, HttpServletResponse response) throws IOException {
+        List<ItemBulkLine> valid = batch.stream()
+                .filter(line -> line.getItem() != null)
+                .collect(Collectors.toList());
+        Map<Long, ItemBulkResult> saved = new HashMap<>();
+        if (!valid.isEmpty()) {
+            ResponseEntity<Object> serverResponse = itemClient.bulkImportItems(toNdjson(valid), userId);
+            if (!serverResponse.getStatusCode().is2xxSuccessful()) {
+                if (!response.isCommitted() && response.getContentType() == null) {
+                    copy(serverResponse, response);
+                    return false;
+                }
+                close(serverResponse);
+                String error = "Пакет не сохранён: ответ сервера " + serverResponse.getStatusCode().value();
+                valid.forEach(line -> saved.put(line.getLine(), ItemBulkResult.failed(line.getLine(), error)));
+            } else {
+                try (InputStream body = ((Resource) Objects.requireNonNull(serverResponse.getBody())).getInputStream();
+                     MappingIterator<ItemBulkResult> results = resultReader.readValues(body)) {
+                    while (results.hasNextValue()) {
+                        ItemBulkResult result = results.nextValue();
+                        long line = valid.get((int) result.getLine() - 1).getLine();
+                        result.setLine(line);
+                        saved.put(line, result);
+                    }
+                }
+            }
+        }
+        OutputStream out = startResults(response);
+        for (ItemBulkLine line : batch) {
+            ItemBulkResult result = line.getError() != null
+                    ? ItemBulkResult.failed(line.getLine(), line.getError())
+                    : saved.getOrDefault(line.getLine(), ItemBulkResult.failed(line.getLine(), "Нет ответа сервера"));
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        return true;
+    }
+
+    private byte[] toNdjson(List<ItemBulkLine> lines) throws IOException {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        for (ItemBulkLine line : lines) {
+            ndjson.write(itemWriter.writeValueAsBytes(line.getItem()));
+            ndjson.write('\n');
+        }
+        return ndjson.toByteArray();
+    }
+
+    private OutputStream startResults(HttpServletResponse response) throws IOException {
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        }
+        return response.getOutputStream();
+    }
+
+    private void copy(ResponseEntity<Object> serverResponse, HttpServletResponse response) throws IOException {
+        response.setStatus(serverResponse.getStatusCode().value());
+        serverResponse.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (serverResponse.getBody() instanceof Resource body) {
+            try (InputStream in = body.getInputStream()) {
+                StreamUtils.copy(in, response.getOutputStream());
+            }
+        }
+    }
+
+    private void close(ResponseEntity<Object> serverResponse) throws IOException {
+        if (serverResponse.getBody() instanceof Resource body) {
+            body.getInputStream().close();
+        }
+    }
+}
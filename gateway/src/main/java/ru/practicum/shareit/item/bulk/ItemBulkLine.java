@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Прочитанная запись импорта с её порядковым номером; если запись не разобралась
+ * или не прошла проверку, вместо вещи — ошибка.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class ItemBulkLine {
+    private final long line;
+    private final ItemDto item;
+    private final String error;
+
+    static ItemBulkLine parsed(long line, ItemDto item) {
+        return new ItemBulkLine(line, item, null);
+    }
+
+    static ItemBulkLine failed(long line, String error) {
+        return new ItemBulkLine(line, null, error);
+    }
+}
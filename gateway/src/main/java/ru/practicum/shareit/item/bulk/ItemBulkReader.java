@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Потоковое чтение импортируемых вещей: в памяти держится только текущая запись.
+ * NDJSON — по объекту JSON на строку, CSV — с заголовком из имён полей {@link ItemDto}.
+ */
+@Component
+public class ItemBulkReader {
+    public static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+    public static final String CSV_VALUE = "text/csv";
+
+    private static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+
+    public ItemBulkReader(Jackson2ObjectMapperBuilder mapperBuilder) {
+        ndjsonReader = mapperBuilder.build().readerFor(ItemDto.class);
+        csvReader = mapperBuilder.factory(new CsvFactory()).build()
+                .readerFor(ItemDto.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+    }
+
+    public MappingIterator<ItemDto> read(InputStream in, MediaType contentType) throws IOException {
+        return CSV.isCompatibleWith(contentType) ? csvReader.readValues(in) : ndjsonReader.readValues(in);
+    }
+}
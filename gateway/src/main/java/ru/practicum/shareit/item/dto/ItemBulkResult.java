@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Итог импорта одной записи: id созданной вещи либо причина отказа.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemBulkResult {
+    private long line;
+    private Long id;
+    private String error;
+
+    public static ItemBulkResult saved(long line, Long id) {
+        return ItemBulkResult.builder().line(line).id(id).build();
+    }
+
+    public static ItemBulkResult failed(long line, String error) {
+        return ItemBulkResult.builder().line(line).error(error).build();
+    }
+}
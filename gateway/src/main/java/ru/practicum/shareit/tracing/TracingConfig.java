@@ -0,0 +1,25 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Трассировка шлюза. Спаны входящих запросов создаёт Spring MVC, спаны обращений к серверу —
+ * {@link ru.practicum.shareit.client.BaseClient}. Спаны выгружаются в файл в формате OTLP JSON: экспортёр пишет
+ * пакеты в журнал {@code io.opentelemetry.exporter.logging.otlp}, а logback направляет его в
+ * {@code shareit.tracing.otlp-file.path}. Доля записываемых трасс — {@code management.tracing.sampling.probability}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnEnabledTracing
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.otlp-file.enabled", matchIfMissing = true)
+    public SpanExporter otlpFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -1,11 +1,10 @@
 package ru.practicum.shareit.user.dto;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Data;
 
-import javax.validation.constraints.Email;
-import javax.validation.constraints.NotBlank;
-
 import static ru.practicum.shareit.validation.ValidationGroups.Create;
 
 @Data
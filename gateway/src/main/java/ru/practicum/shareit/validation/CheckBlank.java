@@ -1,6 +1,6 @@
 package ru.practicum.shareit.validation;
 
-import javax.validation.ValidationException;
+import jakarta.validation.ValidationException;
 
 public class CheckBlank {
     public static void checkNotBlank(String s, String parameterName) {
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.validation;
 
-import javax.validation.groups.Default;
+import jakarta.validation.groups.Default;
 
 public interface ValidationGroups {
 
@@ -5,20 +5,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingImportDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,7 +60,7 @@ class BookingControllerTest {
         //Fail By State
         String state = "qwerty";
         String error = "Unknown state: " + state;
-        when(client.findAllForUser(1, state, 0, 10))
+        when(client.findAllForUser(1, state, 0, 10, null))
                 .thenThrow(new IllegalArgumentException("Unknown state: " + state));
         mvc.perform(get(URL)
                         .header("X-Sharer-User-Id", 1)
@@ -95,7 +106,7 @@ class BookingControllerTest {
         //Fail By State
         String state = "QWERTY";
         String error = "Unknown state: " + state;
-        when(client.findAllForOwner(1, state, 0, 10))
+        when(client.findAllForOwner(1, state, 0, 10, null))
                 .thenThrow(new IllegalArgumentException("Unknown state: " + state));
         mvc.perform(get(URL + "/owner")
                         .header("X-Sharer-User-Id", 1)
@@ -129,6 +140,19 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.error", containsString(error)));
     }
 
+    @Test
+    void shouldPassCursorToServer() throws Exception {
+        String cursor = "2030-01-01T12:00:00.123,5";
+        when(client.findAllForUser(1, "ALL", 0, 10, cursor))
+                .thenReturn(ResponseEntity.ok().header("X-Next-Cursor", "2030-01-01T11:00,4").body(List.of()));
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("after", cursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2030-01-01T11:00,4"));
+    }
+
     @Test
     void shouldValidateBookItem() throws Exception {
         LocalDateTime now = LocalDateTime.now();
@@ -163,4 +187,45 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.validationErrors.end", containsString(error), String.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAcceptPastBookingsOnImport() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        List<BookingImportDto> bookingDtos = List.of(BookingImportDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(start.plusDays(1))
+                .status(BookingStatus.APPROVED)
+                .build());
+        mvc.perform(post(URL + "/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(bookingDtos)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Не указан пользователь, забронировавший вещь")));
+
+        bookingDtos.get(0).setBookerId(2L);
+        when(client.importBookings(anyList(), eq(1L))).thenReturn(ResponseEntity.ok().build());
+        mvc.perform(post(URL + "/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(bookingDtos)))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRelayExportAsIs() throws Exception {
+        String ndjson = "{\"id\":1}\n{\"id\":2}\n";
+        when(client.exportForUser(1)).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new InputStreamResource(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))));
+        mvc.perform(get(URL + "/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import ru.practicum.shareit.client.ClientConfig;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Запрос шлюза к серверу идёт в отдельном клиентском спане, а контекст трассы уходит
+ * серверу в заголовке {@code traceparent}.
+ */
+public class ClientTracingTest {
+    private final InMemorySpanExporter spans = InMemorySpanExporter.create();
+    private final AtomicReference<String> traceparent = new AtomicReference<>();
+
+    private HttpServer server;
+    private ClientHttpRequestFactory requestFactory;
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry observationRegistry;
+    private UserClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", this::respond);
+        server.start();
+
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(spans)).build();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        OtelTracer tracer = new OtelTracer(openTelemetry.getTracer("gateway"), new OtelCurrentTraceContext(),
+                event -> {
+                });
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+                new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer,
+                                new OtelPropagator(openTelemetry.getPropagators(), openTelemetry.getTracer("gateway"))),
+                        new DefaultTracingObservationHandler(tracer)));
+
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("http://localhost:" + server.getAddress().getPort());
+        ClientConfig config = new ClientConfig();
+        requestFactory = config.shareItServerRequestFactory(properties, config.shareItServerConnectionManager(properties));
+        client = new UserClient(properties,
+                new RestTemplateBuilder(rest -> rest.setObservationRegistry(observationRegistry)), requestFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ((DisposableBean) requestFactory).destroy();
+        tracerProvider.close();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldPropagateTraceContextToServer() {
+        Observation.createNotStarted("gateway.request", observationRegistry).observe(() -> client.getUserById(1L));
+
+        List<SpanData> finished = spans.getFinishedSpanItems();
+        assertEquals(2, finished.size());
+        SpanData clientSpan = finished.get(0);
+        SpanData gatewaySpan = finished.get(1);
+        assertEquals("http get", clientSpan.getName());
+        assertEquals(gatewaySpan.getSpanId(), clientSpan.getParentSpanId());
+        assertEquals("00-" + clientSpan.getTraceId() + "-" + clientSpan.getSpanId() + "-01", traceparent.get());
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        traceparent.set(exchange.getRequestHeaders().getFirst("traceparent"));
+        byte[] bytes = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
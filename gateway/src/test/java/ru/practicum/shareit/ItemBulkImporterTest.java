@@ -0,0 +1,153 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.client.ClientConfig;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
+import ru.practicum.shareit.item.bulk.ItemBulkReader;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Импорт через шлюз к заглушке сервера: серверу уходят только проверенные записи пакетами,
+ * а итоги возвращаются клиенту с номерами исходных записей.
+ */
+public class ItemBulkImporterTest {
+    private static final int BATCH_SIZE = 2;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<List<String>> receivedBatches = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private HttpServer server;
+    private ClientHttpRequestFactory requestFactory;
+    private ItemBulkImporter importer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items/bulk", this::importBatch);
+        server.start();
+
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("http://localhost:" + server.getAddress().getPort());
+        properties.setBulkBatchSize(BATCH_SIZE);
+        ClientConfig config = new ClientConfig();
+        requestFactory = config.shareItServerRequestFactory(properties, config.shareItServerConnectionManager(properties));
+        importer = new ItemBulkImporter(new ItemClient(properties, new RestTemplateBuilder(), requestFactory),
+                new ItemBulkReader(Jackson2ObjectMapperBuilder.json()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                mapper,
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ((DisposableBean) requestFactory).destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldSendOnlyValidItemsInBatches() throws IOException {
+        String csv = """
+                name,description,available
+                Дрель,Дрель,true
+                ,Без названия,true
+                Пила,Пила,false
+                Молоток,Молоток,
+                Отвёртка,Отвёртка,true
+                """;
+
+        MockHttpServletResponse response = importItems(1, MediaType.parseMediaType("text/csv"), csv);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        List<ItemBulkResult> results = readResults(response);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(ItemBulkResult::getLine).toList());
+        assertEquals(101L, results.get(0).getId());
+        assertEquals("Название не может быть пустым", results.get(1).getError());
+        assertEquals(102L, results.get(2).getId());
+        assertEquals("Поле доступности вещи не может быть пустым", results.get(3).getError());
+        assertEquals(103L, results.get(4).getId());
+        assertEquals(3, receivedBatches.stream().mapToInt(List::size).sum());
+        assertTrue(receivedBatches.stream().allMatch(batch -> batch.size() <= BATCH_SIZE));
+    }
+
+    @Test
+    void shouldPassServerErrorForFirstBatch() throws IOException {
+        String ndjson = """
+                {"name":"Дрель","description":"Дрель","available":true}
+                """;
+
+        MockHttpServletResponse response = importItems(404, MediaType.APPLICATION_NDJSON, ndjson);
+
+        assertEquals(404, response.getStatus());
+        assertEquals("{\"error\":\"Пользователь с id 404 не найден\"}",
+                response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse importItems(long userId, MediaType contentType, String body) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        importer.importItems(userId, contentType, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                response);
+        return response;
+    }
+
+    private List<ItemBulkResult> readResults(MockHttpServletResponse response) throws IOException {
+        List<ItemBulkResult> results = new ArrayList<>();
+        for (String line : response.getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(mapper.readValue(line, ItemBulkResult.class));
+        }
+        return results;
+    }
+
+    private void importBatch(HttpExchange exchange) throws IOException {
+        String userId = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+        List<String> lines;
+        try (InputStream in = exchange.getRequestBody()) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+        StringBuilder body = new StringBuilder();
+        int status = 200;
+        if ("404".equals(userId)) {
+            status = 404;
+            body.append("{\"error\":\"Пользователь с id 404 не найден\"}");
+        } else {
+            receivedBatches.add(lines);
+            for (int i = 1; i <= lines.size(); i++) {
+                body.append("{\"line\":").append(i).append(",\"id\":").append(ids.incrementAndGet()).append("}\n");
+            }
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", status == 200 ? "application/x-ndjson" : "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
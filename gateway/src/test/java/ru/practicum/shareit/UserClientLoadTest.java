@@ -0,0 +1,206 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.ClientConfig;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Нагрузка на клиент через заглушку сервера: соединения переиспользуются из общего пула,
+ * медленный ответ обрывается по таймауту, а тело ответа передаётся без разбора.
+ */
+public class UserClientLoadTest {
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 25;
+    private static final int MAX_CONNECTIONS = 4;
+
+    private final ClientConfig config = new ClientConfig();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ClientHttpRequestFactory requestFactory;
+    private UserClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(THREADS);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", exchange -> respond(exchange, "{\"id\":1,\"name\":\"user\"}"));
+        server.createContext("/users/2", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{\"id\":2}");
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("http://localhost:" + server.getAddress().getPort());
+        properties.setMaxConnections(MAX_CONNECTIONS);
+        properties.setMaxConnectionsPerRoute(MAX_CONNECTIONS);
+        properties.setReadTimeout(Duration.ofMillis(200));
+        properties.setConnectionRequestTimeout(Duration.ofSeconds(10));
+
+        connectionManager = config.shareItServerConnectionManager(properties);
+        requestFactory = config.shareItServerRequestFactory(properties, connectionManager);
+        client = new UserClient(properties, new RestTemplateBuilder(), requestFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ((DisposableBean) requestFactory).destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldReuseConnectionsFromPool() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    startSignal.await();
+                    int succeeded = 0;
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        ResponseEntity<Object> response = client.getUserById(1);
+                        if (response.getStatusCode() == HttpStatus.OK && readBody(response).contains("user")) {
+                            succeeded++;
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            startSignal.countDown();
+
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(THREADS * REQUESTS_PER_THREAD, succeeded);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(clientPorts.size() <= MAX_CONNECTIONS,
+                "Открыто соединений: " + clientPorts.size());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(0, connectionManager.getTotalStats().getPending());
+    }
+
+    @Test
+    void shouldFailOnReadTimeout() {
+        long started = System.nanoTime();
+
+        assertThrows(ResourceAccessException.class, () -> client.getUserById(2));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2000);
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void shouldExposePoolMetrics() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.shareItServerConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        readBody(client.getUserById(1));
+
+        assertEquals(MAX_CONNECTIONS, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(1, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+    }
+
+    @Test
+    void shouldStreamServerResponseAsIs() throws IOException {
+        String json = "[" + "{\"id\":1,\"name\":\"пользователь\"},".repeat(20_000) + "{\"id\":2}]";
+        server.createContext("/users", exchange -> {
+            exchange.getResponseHeaders().set("X-Next-Cursor", "42");
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/users/3", exchange -> {
+            byte[] bytes = "{\"error\":\"Пользователь не найден\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(404, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+
+        ResponseEntity<Object> response = client.getAllUsers();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("42", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertInstanceOf(Resource.class, response.getBody());
+        assertEquals(1, connectionManager.getTotalStats().getLeased());
+        assertEquals(json, readBody(response));
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+
+        response = client.getUserById(3);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"Пользователь не найден\"}", readBody(response));
+    }
+
+    private String readBody(ResponseEntity<Object> response) throws IOException {
+        try (InputStream in = ((Resource) Objects.requireNonNull(response.getBody())).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Потоковый импорт {@code load.import-rows} вещей одним запросом {@code POST /items/bulk} в NDJSON,
+ * {@code load.import-runs} раз подряд. Файл генерируется по ходу отправки и в памяти целиком не лежит;
+ * время считается от начала отправки до последней строки ответа. Вещи получает первый владелец набора,
+ * каждый прогон добавляет новые вещи, поэтому после импорта базу стоит засеять заново.
+ */
+public class BulkImport {
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private final LoadTestProperties properties;
+    private final HttpClient client;
+
+    public BulkImport(LoadTestProperties properties) {
+        this.properties = properties;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Scenario.TIMEOUT)
+                .build();
+    }
+
+    public BulkImportSummary run(Dataset dataset) throws IOException, InterruptedException {
+        List<Double> rowsPerSecond = new ArrayList<>();
+        long errors = 0;
+        for (int run = 1; run <= properties.getImportRuns(); run++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getGatewayUrl() + "/items/bulk"))
+                    .header("X-Sharer-User-Id", String.valueOf(dataset.owner(1)))
+                    .header("Content-Type", "application/x-ndjson")
+                    .timeout(TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ItemLines(properties.getImportRows())))
+                    .build();
+            long started = System.nanoTime();
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            long imported;
+            try (Stream<String> lines = response.body()) {
+                imported = lines.filter(line -> line.contains("\"id\"")).count();
+            }
+            double seconds = (System.nanoTime() - started) / (double) TimeUnit.SECONDS.toNanos(1);
+            if (response.statusCode() != 200) {
+                imported = 0;
+            }
+            errors += properties.getImportRows() - imported;
+            rowsPerSecond.add(imported / seconds);
+            System.out.printf("Импорт %d: %d из %d вещей за %.1f с (статус %d)%n", run, imported,
+                    properties.getImportRows(), seconds, response.statusCode());
+        }
+        return new BulkImportSummary(properties.getImportRows(), properties.getImportRuns(), errors,
+                rowsPerSecond);
+    }
+
+    /**
+     * Строки NDJSON {@code {"name":..,"description":..,"available":true}}, которые создаются
+     * по мере чтения потока.
+     */
+    private static class ItemLines extends InputStream {
+        private final int rows;
+        private int row;
+        private byte[] line = new byte[0];
+        private int position;
+
+        ItemLines(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (!nextLine()) {
+                return -1;
+            }
+            return line[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextLine()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextLine() {
+            if (position < line.length) {
+                return true;
+            }
+            if (row == rows) {
+                return false;
+            }
+            row++;
+            line = String.format("{\"name\":\"%s %d\",\"description\":\"Импорт, строка %d\",\"available\":true}\n",
+                    Dataset.word(row), row, row).getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Итог импорта {@link BulkImport}: скорость каждого прогона в строках в секунду и число строк,
+ * которые не были импортированы.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkImportSummary {
+    static final String ID = "bulk-import";
+    static final String FILE_NAME = ID + ".properties";
+
+    private final int rows;
+    private final int runs;
+    private final long errors;
+    private final List<Double> rowsPerSecond;
+
+    /**
+     * Медиана по прогонам: один медленный прогон, например первый на непрогретом сервере, её не сдвигает.
+     */
+    public double medianRowsPerSecond() {
+        List<Double> sorted = rowsPerSecond.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    public void store(Properties properties) {
+        properties.setProperty(ID + ".rows", String.valueOf(rows));
+        properties.setProperty(ID + ".runs", String.valueOf(runs));
+        properties.setProperty(ID + ".errors", String.valueOf(errors));
+        properties.setProperty(ID + ".rows-per-second", String.format(Locale.ROOT, "%.1f", medianRowsPerSecond()));
+    }
+}
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Заполняет базу сервера (H2 или Postgres) набором {@link Dataset} через JDBC пакетами.
+ * Схему создаёт сам сервер при старте, поэтому сеять нужно в уже запущенный сервер;
+ * прежние данные удаляются, последовательности ключей сдвигаются за засеянные id.
+ */
+public class DataSeeder {
+    private static final int BATCH_SIZE = 1_000;
+    private static final DateTimeFormatter COMMENT_CREATED = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final List<String> LAST_AND_NEXT_STATUSES = List.of("APPROVED", "WAITING");
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public DataSeeder(LoadTestProperties properties) {
+        this.properties = properties;
+    }
+
+    public void seed(Dataset dataset, LocalDateTime now) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(properties.getJdbcUrl(),
+                properties.getJdbcUser(), properties.getJdbcPassword())) {
+            connection.setAutoCommit(false);
+            clear(connection);
+            insertUsers(connection, dataset);
+            insertRequests(connection, dataset, now);
+            insertItems(connection, dataset);
+            insertBookings(connection, dataset);
+            insertCommentsAndSummaries(connection, dataset, now);
+            restartSequences(connection, dataset);
+            connection.commit();
+        }
+    }
+
+    private void clear(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("COMMENTS", "ITEM_SUMMARY", "BOOKINGS", "ITEMS", "REQUESTS", "USERS")) {
+                statement.executeUpdate("DELETE FROM " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    private void insertUsers(Connection connection, Dataset dataset) throws SQLException {
+        try (Batch batch = new Batch(connection, "INSERT INTO USERS (ID, EMAIL, NAME) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getUsers(); id++) {
+                batch.add(id, "user" + id + "@load.test", userName(id));
+            }
+        }
+    }
+
+    private void insertRequests(Connection connection, Dataset dataset, LocalDateTime now) throws SQLException {
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO REQUESTS (ID, DESCRIPTION, REQUESTER_ID, CREATED) VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getRequests(); id++) {
+                batch.add(id, "Ищу: " + Dataset.word(id).toLowerCase(), dataset.booker(id),
+                        Timestamp.valueOf(now.minusHours(id)));
+            }
+        }
+    }
+
+    private void insertItems(Connection connection, Dataset dataset) throws SQLException {
+        try (Batch batch = new Batch(connection, "INSERT INTO ITEMS (ID, NAME, DESCRIPTION, IS_AVAILABLE, OWNER_ID, "
+                + "REQUEST_ID) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getItems(); id++) {
+                Long requestId = id % 10 == 0 && dataset.getRequests() > 0
+                        ? (id / 10 - 1) % dataset.getRequests() + 1
+                        : null;
+                batch.add(id, Dataset.word(id) + " " + id, "Описание: " + Dataset.word(id).toLowerCase()
+                        + " в хорошем состоянии", true, dataset.owner(id), requestId);
+            }
+        }
+    }
+
+    private void insertBookings(Connection connection, Dataset dataset) throws SQLException {
+        try (Batch batch = new Batch(connection, "INSERT INTO BOOKINGS (ID, START_DATE, END_DATE, ITEM_ID, BOOKER_ID, "
+                + "STATUS) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getBookings(); id++) {
+                long itemId = (id - 1) % dataset.getItems() + 1;
+                long slot = (id - 1) / dataset.getItems();
+                batch.add(id, Timestamp.valueOf(dataset.slotStart(slot)), Timestamp.valueOf(dataset.slotEnd(slot)),
+                        itemId, dataset.booker(id), Dataset.status(slot));
+            }
+        }
+    }
+
+    /**
+     * Отзывы пишутся по вещам, чтобы сразу собрать карточку вещи с отзывами в JSON
+     * и последним и следующим бронированием, как её ведёт сервер.
+     */
+    private void insertCommentsAndSummaries(Connection connection, Dataset dataset, LocalDateTime now)
+            throws SQLException {
+        long nextSlot = dataset.firstSlotAfter(now);
+        try (Batch comments = new Batch(connection,
+                "INSERT INTO COMMENTS (ID, TEXT, ITEM_ID, AUTHOR_ID, CREATED) VALUES (?, ?, ?, ?, ?)");
+             Batch summaries = new Batch(connection, "INSERT INTO ITEM_SUMMARY (ITEM_ID, LAST_BOOKING_ID, "
+                     + "NEXT_BOOKING_ID, NEXT_BOOKING_START, COMMENTS) VALUES (?, ?, ?, ?, ?)")) {
+            for (long itemId = 1; itemId <= dataset.getItems(); itemId++) {
+                List<Map<String, Object>> itemComments = new ArrayList<>();
+                for (long id = itemId; id <= dataset.getComments(); id += dataset.getItems()) {
+                    long authorId = dataset.booker(id);
+                    LocalDateTime created = now.minusHours(id % 8_760 + 1);
+                    String text = "Отзыв " + id + ": всё работает";
+                    comments.add(id, text, itemId, authorId, Timestamp.valueOf(created));
+                    Map<String, Object> comment = new LinkedHashMap<>();
+                    comment.put("id", id);
+                    comment.put("text", text);
+                    comment.put("authorName", userName(authorId));
+                    comment.put("created", created.format(COMMENT_CREATED));
+                    itemComments.add(comment);
+                }
+                itemComments.sort(Comparator.comparing((Map<String, Object> c) -> (String) c.get("created"))
+                        .reversed());
+                Long last = null;
+                for (long slot = nextSlot - 1; last == null && dataset.bookingExists(itemId, slot); slot--) {
+                    if (LAST_AND_NEXT_STATUSES.contains(Dataset.status(slot))) {
+                        last = dataset.bookingId(itemId, slot);
+                    }
+                }
+                Long next = null;
+                Timestamp nextStart = null;
+                for (long slot = nextSlot; next == null && dataset.bookingExists(itemId, slot); slot++) {
+                    if (LAST_AND_NEXT_STATUSES.contains(Dataset.status(slot))) {
+                        next = dataset.bookingId(itemId, slot);
+                        nextStart = Timestamp.valueOf(dataset.slotStart(slot));
+                    }
+                }
+                summaries.add(itemId, last, next, nextStart, toJson(itemComments));
+            }
+        }
+    }
+
+    private void restartSequences(Connection connection, Dataset dataset) throws SQLException {
+        Map<String, Integer> sequences = new LinkedHashMap<>();
+        sequences.put("USERS_SEQ", dataset.getUsers());
+        sequences.put("REQUESTS_SEQ", dataset.getRequests());
+        sequences.put("ITEMS_SEQ", dataset.getItems());
+        sequences.put("BOOKINGS_SEQ", dataset.getBookings());
+        sequences.put("COMMENTS_SEQ", dataset.getComments());
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, Integer> sequence : sequences.entrySet()) {
+                statement.execute("ALTER SEQUENCE " + sequence.getKey() + " RESTART WITH " + (sequence.getValue() + 1));
+            }
+        }
+    }
+
+    private static String userName(long id) {
+        return "Пользователь " + id;
+    }
+
+    private String toJson(List<Map<String, Object>> comments) {
+        try {
+            return mapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось записать отзывы карточки вещи", e);
+        }
+    }
+
+    /**
+     * Пакетная вставка с фиксацией каждые {@link #BATCH_SIZE} строк.
+     */
+    private static final class Batch implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int size;
+
+        private Batch(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        private void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++size == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (size > 0) {
+                statement.executeBatch();
+                connection.commit();
+                size = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Properties;
+
+/**
+ * Форма засеянных данных. Ключи и связи вычисляются из номера записи, поэтому сценарии
+ * подставляют существующие id без обращения к базе:
+ * <ul>
+ *     <li>пользователи 1..owners — владельцы вещей, остальные бронируют и пишут заявки;</li>
+ *     <li>у каждой вещи бронирования идут посуточными слотами от {@code base}: слот k занимает
+ *     [base + k дней, base + k дней + 23 часа], половина слотов в прошлом, половина в будущем;</li>
+ *     <li>бронирование слота k вещи i имеет id k * items + i, статус зависит только от k.</li>
+ * </ul>
+ * Подтверждённые бронирования одной вещи не пересекаются, как того требует ограничение в Postgres.
+ */
+@Getter
+public class Dataset {
+    static final String FILE_NAME = "dataset.properties";
+    private static final String[] WORDS = {"Дрель", "Пила", "Молоток", "Отвёртка", "Лестница",
+            "Палатка", "Велосипед", "Самокат", "Проектор", "Гитара"};
+
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final int comments;
+    private final LocalDateTime base;
+
+    public Dataset(int users, int items, int requests, int bookings, int comments, LocalDateTime base) {
+        this.users = users;
+        this.items = items;
+        this.requests = requests;
+        this.bookings = bookings;
+        this.comments = comments;
+        this.base = base;
+    }
+
+    /**
+     * Новый набор, в котором текущий момент приходится на середину слотов.
+     */
+    public static Dataset create(LoadTestProperties properties, LocalDate today) {
+        int slots = (properties.getBookings() + properties.getItems() - 1) / properties.getItems();
+        return new Dataset(properties.getUsers(), properties.getItems(), properties.getRequests(),
+                properties.getBookings(), properties.getComments(), today.atStartOfDay().minusDays(slots / 2));
+    }
+
+    public int owners() {
+        return Math.max(1, users / 10);
+    }
+
+    public int bookers() {
+        return users - owners();
+    }
+
+    public long owner(long itemId) {
+        return (itemId - 1) % owners() + 1;
+    }
+
+    /**
+     * Пользователь, не владеющий ни одной вещью; n — любое число, например номер записи.
+     */
+    public long booker(long n) {
+        return owners() + Math.floorMod(n * 7919, bookers()) + 1;
+    }
+
+    public static String word(long n) {
+        return WORDS[(int) Math.floorMod(n, WORDS.length)];
+    }
+
+    public static int words() {
+        return WORDS.length;
+    }
+
+    public int slots() {
+        return (bookings + items - 1) / items;
+    }
+
+    public LocalDateTime slotStart(long slot) {
+        return base.plusDays(slot);
+    }
+
+    public LocalDateTime slotEnd(long slot) {
+        return slotStart(slot).plusHours(23);
+    }
+
+    /**
+     * Первый слот, начинающийся не раньше момента now.
+     */
+    public long firstSlotAfter(LocalDateTime now) {
+        return ChronoUnit.DAYS.between(base, now) + 1;
+    }
+
+    public static String status(long slot) {
+        switch ((int) (slot % 10)) {
+            case 0:
+                return "REJECTED";
+            case 1:
+                return "WAITING";
+            default:
+                return "APPROVED";
+        }
+    }
+
+    public long bookingId(long itemId, long slot) {
+        return slot * items + itemId;
+    }
+
+    public boolean bookingExists(long itemId, long slot) {
+        return slot >= 0 && bookingId(itemId, slot) <= bookings;
+    }
+
+    public void save(Path dir) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("users", String.valueOf(users));
+        properties.setProperty("items", String.valueOf(items));
+        properties.setProperty("requests", String.valueOf(requests));
+        properties.setProperty("bookings", String.valueOf(bookings));
+        properties.setProperty("comments", String.valueOf(comments));
+        properties.setProperty("base", base.toString());
+        Files.createDirectories(dir);
+        try (Writer writer = Files.newBufferedWriter(dir.resolve(FILE_NAME), StandardCharsets.UTF_8)) {
+            properties.store(writer, "ShareIt load-test dataset");
+        }
+    }
+
+    public static Dataset load(Path dir) throws IOException {
+        Path file = dir.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("Нет " + file + ": сначала засейте базу (exec:java@seed)");
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new Dataset(Integer.parseInt(properties.getProperty("users")),
+                Integer.parseInt(properties.getProperty("items")),
+                Integer.parseInt(properties.getProperty("requests")),
+                Integer.parseInt(properties.getProperty("bookings")),
+                Integer.parseInt(properties.getProperty("comments")),
+                LocalDateTime.parse(properties.getProperty("base")));
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки одного сценария в микросекундах. Рабочие потоки пишут в {@link Recorder} без блокировок,
+ * а поток отчёта раз в секунду забирает интервальную гистограмму в лог и в общую гистограмму прогона.
+ */
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+
+    private final Scenario scenario;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Duration measured;
+    private final HistogramLogWriter log;
+    private Histogram interval;
+
+    public EndpointStats(Scenario scenario, Path reportDir, long startMillis, Duration measured)
+            throws FileNotFoundException {
+        this.scenario = scenario;
+        this.measured = measured;
+        this.log = new HistogramLogWriter(reportDir.resolve(scenario.getId() + ".hlog").toFile());
+        log.outputLogFormatVersion();
+        log.outputComment("Задержки сценария " + scenario.getId() + " в микросекундах");
+        log.setBaseTime(startMillis);
+        log.outputBaseTime(startMillis);
+        log.outputLegend();
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public void record(long latencyMicros, int status) {
+        recorder.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        if (!scenario.isExpected(status)) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Вызывается только потоком отчёта.
+     */
+    public void flushInterval() {
+        interval = (Histogram) recorder.getIntervalHistogram(interval);
+        if (interval.getTotalCount() > 0) {
+            log.outputIntervalHistogram(interval);
+            total.add(interval);
+        }
+    }
+
+    public Histogram getTotal() {
+        return total;
+    }
+
+    public EndpointSummary summary() {
+        return new EndpointSummary(scenario.getId(), total.getTotalCount(), errors.sum(),
+                total.getTotalCount() / (measured.toMillis() / 1000.0),
+                millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(95)),
+                millis(total.getValueAtPercentile(99)), millis(total.getMaxValue()));
+    }
+
+    public void close() {
+        log.close();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
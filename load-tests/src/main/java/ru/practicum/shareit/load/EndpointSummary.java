@@ -0,0 +1,42 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Итог сценария за прогон: пропускная способность в запросах в секунду за время замера
+ * и задержки в миллисекундах.
+ */
+@Getter
+@AllArgsConstructor
+public class EndpointSummary {
+    private final String scenario;
+    private final long count;
+    private final long errors;
+    private final double throughput;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+    private final double max;
+
+    public double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    public void store(Properties properties) {
+        properties.setProperty(scenario + ".count", String.valueOf(count));
+        properties.setProperty(scenario + ".errors", String.valueOf(errors));
+        properties.setProperty(scenario + ".rps", String.format(Locale.ROOT, "%.1f", throughput));
+        properties.setProperty(scenario + ".p50", format(p50));
+        properties.setProperty(scenario + ".p95", format(p95));
+        properties.setProperty(scenario + ".p99", format(p99));
+        properties.setProperty(scenario + ".max", format(max));
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.load;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузка открытой моделью: запросы уходят с постоянной частотой {@code load.rate} по заранее
+ * назначенному времени, а задержка считается от назначенного времени, а не от фактической отправки.
+ * Если шлюз не успевает и потоки отстают от графика, ожидание в очереди попадает в задержку
+ * и не прячется (coordinated omission). Первые {@code load.warmup} в гистограммы не пишутся.
+ * <p>
+ * Если задан {@code load.concurrency}, нагрузка идёт закрытой моделью: столько пользователей, каждый в своём
+ * потоке, отправляют запрос, ждут ответ и делают паузу около {@code load.think-time}. Пользователи подключаются
+ * равномерно за время прогрева. Частота здесь определяется тем, как быстро отвечает шлюз, поэтому главный
+ * результат — пропускная способность и задержка одного запроса при данном числе пользователей.
+ */
+public class LoadDriver {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadTestProperties properties;
+    private final Dataset dataset;
+    private final Scenario[] weighted;
+    private final HttpClient client;
+
+    public LoadDriver(LoadTestProperties properties, Dataset dataset) {
+        this.properties = properties;
+        this.dataset = dataset;
+        this.weighted = weighted(properties.getMix());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Scenario.TIMEOUT)
+                .build();
+    }
+
+    public Map<Scenario, EndpointStats> run() throws FileNotFoundException, InterruptedException {
+        boolean closed = properties.isClosedModel();
+        int threads = closed ? properties.getConcurrency() : properties.getThreads();
+        long interval = NANOS_PER_SECOND / properties.getRate();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+
+        Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+        long measureFromMillis = System.currentTimeMillis()
+                + TimeUnit.NANOSECONDS.toMillis(measureFrom - System.nanoTime());
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats(scenario, properties.getRunDir(), measureFromMillis,
+                    properties.getDuration()));
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> stats.values().forEach(EndpointStats::flushInterval),
+                1, 1, TimeUnit.SECONDS);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            int first = worker;
+            long joins = start + properties.getWarmup().toNanos() * worker / threads;
+            workers.execute(closed
+                    ? () -> user(first, joins, measureFrom, end, stats)
+                    : () -> drive(first, threads, start, interval, measureFrom, end, stats));
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        reporter.shutdown();
+        reporter.awaitTermination(1, TimeUnit.MINUTES);
+        stats.values().forEach(EndpointStats::flushInterval);
+        stats.values().forEach(EndpointStats::close);
+        return stats;
+    }
+
+    /**
+     * Поток отправляет каждый threads-й запрос общего графика, начиная с first.
+     */
+    private void drive(int first, int threads, long start, long interval, long measureFrom, long end,
+                       Map<Scenario, EndpointStats> stats) {
+        SplittableRandom random = new SplittableRandom(first);
+        for (long n = first; ; n += threads) {
+            long intended = start + n * interval;
+            if (intended >= end) {
+                return;
+            }
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = weighted[random.nextInt(weighted.length)];
+            int status = send(scenario, random);
+            long latency = System.nanoTime() - intended;
+            if (intended >= measureFrom) {
+                stats.get(scenario).record(TimeUnit.NANOSECONDS.toMicros(latency), status);
+            }
+        }
+    }
+
+    /**
+     * Пользователь закрытой модели: запрос, ответ, пауза от нуля до двух {@code load.think-time},
+     * чтобы пользователи не шли в ногу.
+     */
+    private void user(int id, long joins, long measureFrom, long end, Map<Scenario, EndpointStats> stats) {
+        SplittableRandom random = new SplittableRandom(id);
+        long thinkTime = properties.getThinkTime().toNanos();
+        for (long next = joins; next < end; ) {
+            for (long wait = next - System.nanoTime(); wait > 0; wait = next - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = weighted[random.nextInt(weighted.length)];
+            long sent = System.nanoTime();
+            int status = send(scenario, random);
+            long received = System.nanoTime();
+            if (sent >= measureFrom && sent < end) {
+                stats.get(scenario).record(TimeUnit.NANOSECONDS.toMicros(received - sent), status);
+            }
+            next = received + (thinkTime == 0 ? 0 : random.nextLong(2 * thinkTime));
+        }
+    }
+
+    private int send(Scenario scenario, SplittableRandom random) {
+        try {
+            return client.send(scenario.request(properties.getGatewayUrl(), dataset, random, LocalDateTime.now())
+                            .timeout(Scenario.TIMEOUT)
+                            .build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Таблица для выбора сценария с учётом весов: сценарий повторяется столько раз, каков его вес.
+     */
+    private static Scenario[] weighted(Map<String, Integer> mix) {
+        List<Scenario> table = new ArrayList<>();
+        mix.forEach((id, weight) -> {
+            Scenario scenario = Scenario.byId(id);
+            for (int i = 0; i < weight; i++) {
+                table.add(scenario);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("В load.mix нет ни одного сценария с положительным весом");
+        }
+        return table.toArray(Scenario[]::new);
+    }
+}
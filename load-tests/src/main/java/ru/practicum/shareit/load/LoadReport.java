@@ -0,0 +1,99 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Отчёт прогона в каталоге {@code load.report-dir}: на каждый сценарий интервальный лог
+ * {@code <сценарий>.hlog} и распределение {@code <сценарий>.hgrm} в миллисекундах, плюс
+ * {@code summary.properties}, который можно передать следующему прогону как {@code load.baseline}.
+ * Импорт пишет свой итог в {@code bulk-import.properties}, он так же служит базой следующему импорту.
+ */
+public class LoadReport {
+    static final String SUMMARY_FILE = "summary.properties";
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Path dir;
+
+    public LoadReport(Path dir) {
+        this.dir = dir;
+    }
+
+    public List<EndpointSummary> write(Collection<EndpointStats> stats) throws IOException {
+        Properties summary = new Properties();
+        for (EndpointStats endpoint : stats) {
+            try (PrintStream out = new PrintStream(dir.resolve(endpoint.getScenario().getId() + ".hgrm").toFile(),
+                    StandardCharsets.UTF_8)) {
+                endpoint.getTotal().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+            endpoint.summary().store(summary);
+        }
+        store(summary, SUMMARY_FILE, "ShareIt load-test summary, latencies in ms");
+        return stats.stream().map(EndpointStats::summary).collect(Collectors.toList());
+    }
+
+    public void write(BulkImportSummary summary) throws IOException {
+        Properties properties = new Properties();
+        summary.store(properties);
+        store(properties, BulkImportSummary.FILE_NAME, "ShareIt bulk import summary, rows per second");
+    }
+
+    public static void print(Collection<EndpointSummary> summaries, PrintStream out) {
+        out.printf(Locale.ROOT, "%-16s %8s %7s %9s %10s %10s %10s %10s%n",
+                "scenario", "count", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointSummary summary : summaries) {
+            out.printf(Locale.ROOT, "%-16s %8d %7d %9.1f %10.3f %10.3f %10.3f %10.3f%n", summary.getScenario(),
+                    summary.getCount(), summary.getErrors(), summary.getThroughput(), summary.getP50(),
+                    summary.getP95(), summary.getP99(), summary.getMax());
+        }
+    }
+
+    /**
+     * Прогон рядом с базовым: пропускная способность и p99 по каждому сценарию и изменение в процентах.
+     * Сценарии, которых нет в базовом прогоне, пропускаются.
+     */
+    public static void printComparison(Collection<EndpointSummary> summaries, Properties baseline, PrintStream out) {
+        out.printf(Locale.ROOT, "%-16s %9s %9s %8s %12s %12s %8s%n",
+                "scenario", "base rps", "rps", "change", "base p99 ms", "p99 ms", "change");
+        for (EndpointSummary summary : summaries) {
+            String rps = baseline.getProperty(summary.getScenario() + ".rps");
+            String p99 = baseline.getProperty(summary.getScenario() + ".p99");
+            if (rps == null || p99 == null) {
+                continue;
+            }
+            double baseRps = Double.parseDouble(rps);
+            double baseP99 = Double.parseDouble(p99);
+            out.printf(Locale.ROOT, "%-16s %9.1f %9.1f %+7.1f%% %12.3f %12.3f %+7.1f%%%n", summary.getScenario(),
+                    baseRps, summary.getThroughput(), change(baseRps, summary.getThroughput()),
+                    baseP99, summary.getP99(), change(baseP99, summary.getP99()));
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private void store(Properties properties, String file, String comment) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(dir.resolve(file), StandardCharsets.UTF_8)) {
+            properties.store(writer, comment);
+        }
+    }
+
+    public static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+}
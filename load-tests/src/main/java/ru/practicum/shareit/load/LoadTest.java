@@ -0,0 +1,108 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Нагрузочный прогон шлюза: {@code seed} заполняет базу запущенного сервера, {@code run} даёт нагрузку,
+ * {@code import} замеряет потоковый импорт вещей. {@code run} и {@code import} падают, если нарушены
+ * пороги или есть регрессия относительно {@code load.baseline}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestProperties properties = new LoadTestProperties(System.getProperties());
+        String command = args.length > 0 ? args[0] : "run";
+        switch (command) {
+            case "seed":
+                seed(properties);
+                break;
+            case "run":
+                run(properties);
+                break;
+            case "import":
+                importItems(properties);
+                break;
+            default:
+                throw new IllegalArgumentException("Ожидается seed, run или import, получено: " + command);
+        }
+    }
+
+    private static void seed(LoadTestProperties properties) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Dataset dataset = Dataset.create(properties, LocalDate.now());
+        long started = System.nanoTime();
+        new DataSeeder(properties).seed(dataset, now);
+        dataset.save(properties.getReportDir());
+        System.out.printf("Засеяно за %d с: %d пользователей, %d вещей, %d заявок, %d бронирований, %d отзывов%n",
+                (System.nanoTime() - started) / 1_000_000_000L, dataset.getUsers(), dataset.getItems(),
+                dataset.getRequests(), dataset.getBookings(), dataset.getComments());
+    }
+
+    private static void run(LoadTestProperties properties) throws Exception {
+        Dataset dataset = Dataset.load(properties.getReportDir());
+        Properties baseline = properties.getBaseline() != null
+                ? LoadReport.read(Path.of(properties.getBaseline()))
+                : new Properties();
+        Properties slo = slo(properties.getSlo());
+        Files.createDirectories(properties.getRunDir());
+
+        List<EndpointSummary> summaries = new LoadReport(properties.getRunDir())
+                .write(new LoadDriver(properties, dataset).run().values());
+        LoadReport.print(summaries, System.out);
+        if (!baseline.isEmpty()) {
+            System.out.println();
+            LoadReport.printComparison(summaries, baseline, System.out);
+        }
+
+        List<String> violations = new SloCheck(slo, baseline, properties.getMaxRegression()).violations(summaries);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Нарушены пороги нагрузочного прогона:\n" + String.join("\n", violations));
+        }
+    }
+
+    private static void importItems(LoadTestProperties properties) throws Exception {
+        Dataset dataset = Dataset.load(properties.getReportDir());
+        Properties baseline = properties.getBaseline() != null
+                ? LoadReport.read(Path.of(properties.getBaseline()))
+                : new Properties();
+        Properties slo = slo(properties.getSlo());
+        Files.createDirectories(properties.getRunDir());
+
+        BulkImportSummary summary = new BulkImport(properties).run(dataset);
+        new LoadReport(properties.getRunDir()).write(summary);
+        System.out.printf(Locale.ROOT, "Импорт: медиана %.1f строк/с по %d прогонам, не импортировано строк: %d%n",
+                summary.medianRowsPerSecond(), summary.getRuns(), summary.getErrors());
+
+        List<String> violations = new SloCheck(slo, baseline, properties.getMaxRegression()).violations(summary);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Нарушены пороги импорта:\n" + String.join("\n", violations));
+        }
+    }
+
+    /**
+     * Пороги из файла {@code load.slo}; если такого файла нет, одноимённый ресурс модуля, например
+     * {@code slo-5k.properties}.
+     */
+    private static Properties slo(String file) throws IOException {
+        Properties slo = new Properties();
+        try (InputStream in = file != null && Files.exists(Path.of(file))
+                ? Files.newInputStream(Path.of(file))
+                : LoadTest.class.getResourceAsStream("/" + (file != null ? file : "slo.properties"))) {
+            if (in == null) {
+                throw new IllegalArgumentException("Нет файла порогов " + file);
+            }
+            slo.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        return slo;
+    }
+}
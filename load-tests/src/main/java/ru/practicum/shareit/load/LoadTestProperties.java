@@ -0,0 +1,101 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Настройки прогона из системных свойств {@code load.*} (передаются в Maven через -D).
+ */
+@Getter
+public class LoadTestProperties {
+    private final String gatewayUrl;
+    private final String jdbcUrl;
+    private final String jdbcUser;
+    private final String jdbcPassword;
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final int comments;
+    private final int importRows;
+    private final int importRuns;
+    private final int rate;
+    private final int threads;
+    private final int concurrency;
+    private final Duration thinkTime;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<String, Integer> mix;
+    private final Path reportDir;
+    private final Path runDir;
+    private final String slo;
+    private final String baseline;
+    private final double maxRegression;
+
+    public LoadTestProperties(Properties properties) {
+        gatewayUrl = properties.getProperty("load.gateway-url", "http://localhost:8080");
+        jdbcUrl = properties.getProperty("load.jdbc-url", "jdbc:h2:file:./server/db/shareit;AUTO_SERVER=TRUE");
+        jdbcUser = properties.getProperty("load.jdbc-user", "sa");
+        jdbcPassword = properties.getProperty("load.jdbc-password", "password");
+        users = intProperty(properties, "load.users", 1_000);
+        items = intProperty(properties, "load.items", 5_000);
+        requests = intProperty(properties, "load.requests", 500);
+        bookings = intProperty(properties, "load.bookings", 100_000);
+        comments = intProperty(properties, "load.comments", 10_000);
+        importRows = intProperty(properties, "load.import-rows", 100_000);
+        importRuns = intProperty(properties, "load.import-runs", 3);
+        rate = intProperty(properties, "load.rate", 200);
+        threads = intProperty(properties, "load.threads", 64);
+        concurrency = intProperty(properties, "load.concurrency", 0);
+        thinkTime = durationProperty(properties, "load.think-time", "1s");
+        warmup = durationProperty(properties, "load.warmup", "10s");
+        duration = durationProperty(properties, "load.duration", "60s");
+        mix = parseMix(properties.getProperty("load.mix",
+                "search=20,owner-items=15,booking-create=10,booker-bookings=25,owner-bookings=15,request-feed=15"));
+        reportDir = Path.of(properties.getProperty("load.report-dir", "target/load-tests"));
+        String runName = properties.getProperty("load.run-name");
+        runDir = runName == null ? reportDir : reportDir.resolve(runName);
+        slo = properties.getProperty("load.slo");
+        baseline = properties.getProperty("load.baseline");
+        maxRegression = Double.parseDouble(properties.getProperty("load.max-regression", "0.2"));
+        if (users < 2 || items < 1) {
+            throw new IllegalArgumentException("Нужны хотя бы два пользователя и одна вещь");
+        }
+    }
+
+    /**
+     * Закрытая модель: {@code load.concurrency} пользователей вместо частоты {@code load.rate}.
+     */
+    public boolean isClosedModel() {
+        return concurrency > 0;
+    }
+
+    private static int intProperty(Properties properties, String name, int defaultValue) {
+        String value = properties.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.replace("_", ""));
+    }
+
+    /**
+     * Длительность вида 30s или 5m.
+     */
+    private static Duration durationProperty(Properties properties, String name, String defaultValue) {
+        return Duration.parse("PT" + properties.getProperty(name, defaultValue).toUpperCase());
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ожидается сценарий=вес, получено: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
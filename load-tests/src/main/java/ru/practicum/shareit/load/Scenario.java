@@ -0,0 +1,119 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Сценарии нагрузки на шлюз. Каждый сценарий — отдельная гистограмма и отдельные пороги в slo.properties.
+ */
+public enum Scenario {
+    SEARCH("search", Set.of(200)) {
+        @Override
+        HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now) {
+            String text = Dataset.word(random.nextInt(Dataset.words())).toLowerCase();
+            return get(url, "/items/search?from=0&size=20&text=" + encode(text), dataset.booker(random.nextLong()));
+        }
+    },
+    OWNER_ITEMS("owner-items", Set.of(200)) {
+        @Override
+        HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now) {
+            return get(url, "/items?from=0&size=20", random.nextInt(dataset.owners()) + 1);
+        }
+    },
+    /**
+     * Половина запросов попадает на уже подтверждённый слот и должна получить отказ,
+     * остальные бронируют свободное время далеко после засеянных слотов.
+     */
+    BOOKING_CREATE("booking-create", Set.of(200, 201, 400, 409)) {
+        @Override
+        HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now) {
+            long itemId = random.nextInt(dataset.getItems()) + 1;
+            LocalDateTime start = null;
+            if (random.nextBoolean()) {
+                for (long slot = dataset.firstSlotAfter(now) + random.nextInt(10);
+                     start == null && dataset.bookingExists(itemId, slot); slot++) {
+                    if ("APPROVED".equals(Dataset.status(slot))) {
+                        start = dataset.slotStart(slot).plusHours(1);
+                    }
+                }
+            }
+            if (start == null) {
+                start = dataset.slotStart(dataset.slots() + 2 + random.nextInt(3_650)).plusHours(random.nextInt(20));
+            }
+            String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId,
+                    start.format(TIME), start.plusHours(1).format(TIME));
+            return HttpRequest.newBuilder(URI.create(url + "/bookings"))
+                    .header("X-Sharer-User-Id", String.valueOf(dataset.booker(random.nextLong())))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    BOOKER_BOOKINGS("booker-bookings", Set.of(200)) {
+        @Override
+        HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now) {
+            return get(url, "/bookings?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)],
+                    dataset.booker(random.nextLong()));
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", Set.of(200)) {
+        @Override
+        HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now) {
+            return get(url, "/bookings/owner?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)],
+                    random.nextInt(dataset.owners()) + 1);
+        }
+    },
+    REQUEST_FEED("request-feed", Set.of(200)) {
+        @Override
+        HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now) {
+            String path = random.nextBoolean() ? "/requests/all?from=0&size=20" : "/requests";
+            return get(url, path, dataset.booker(random.nextLong()));
+        }
+    };
+
+    static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String id;
+    private final Set<Integer> expectedStatuses;
+
+    Scenario(String id, Set<Integer> expectedStatuses) {
+        this.id = id;
+        this.expectedStatuses = expectedStatuses;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isExpected(int status) {
+        return expectedStatuses.contains(status);
+    }
+
+    public static Scenario byId(String id) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.id.equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный сценарий: " + id));
+    }
+
+    abstract HttpRequest.Builder request(String url, Dataset dataset, SplittableRandom random, LocalDateTime now);
+
+    private static HttpRequest.Builder get(String url, String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(url + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET();
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Сверка итогов прогона с порогами slo.properties и, если задан, с итогами прошлого прогона.
+ * Рост p95/p99 больше чем на {@code maxRegression} считается регрессией; разница меньше
+ * {@link #NOISE_MILLIS} не учитывается, чтобы быстрые сценарии не падали от шума. Регрессия и падение
+ * пропускной способности сценария больше чем на {@code maxRegression}: в закрытой модели так проявляется
+ * замедление при тех же пользователях, в открытой — отставание от заданной частоты. Для импорта
+ * регрессия — падение скорости больше чем на {@code maxRegression}.
+ */
+public class SloCheck {
+    static final double NOISE_MILLIS = 1.0;
+    private static final String[] PERCENTILES = {"p95", "p99"};
+
+    private final Properties slo;
+    private final Properties baseline;
+    private final double maxRegression;
+
+    public SloCheck(Properties slo, Properties baseline, double maxRegression) {
+        this.slo = slo;
+        this.baseline = baseline;
+        this.maxRegression = maxRegression;
+    }
+
+    public List<String> violations(Collection<EndpointSummary> summaries) {
+        List<String> violations = new ArrayList<>();
+        double maxErrorRate = Double.parseDouble(slo.getProperty("max-error-rate", "0.01"));
+        for (EndpointSummary summary : summaries) {
+            if (summary.getCount() == 0) {
+                continue;
+            }
+            if (summary.errorRate() > maxErrorRate) {
+                violations.add(String.format(Locale.ROOT, "%s: доля ошибок %.4f больше %.4f",
+                        summary.getScenario(), summary.errorRate(), maxErrorRate));
+            }
+            String previousRps = baseline.getProperty(summary.getScenario() + ".rps");
+            if (previousRps != null) {
+                double before = Double.parseDouble(previousRps);
+                if (summary.getThroughput() < before * (1 - maxRegression)) {
+                    violations.add(String.format(Locale.ROOT, "%s.rps: %.1f запросов/с против %.1f в прошлом прогоне",
+                            summary.getScenario(), summary.getThroughput(), before));
+                }
+            }
+            for (String percentile : PERCENTILES) {
+                double actual = percentile.equals("p95") ? summary.getP95() : summary.getP99();
+                String key = summary.getScenario() + "." + percentile;
+                String limit = slo.getProperty(key);
+                if (limit != null && actual > Double.parseDouble(limit)) {
+                    violations.add(String.format(Locale.ROOT, "%s: %.3f мс больше порога %s мс", key, actual, limit));
+                }
+                String previous = baseline.getProperty(key);
+                if (previous != null) {
+                    double before = Double.parseDouble(previous);
+                    if (actual > before * (1 + maxRegression) && actual - before > NOISE_MILLIS) {
+                        violations.add(String.format(Locale.ROOT, "%s: %.3f мс против %.3f мс в прошлом прогоне",
+                                key, actual, before));
+                    }
+                }
+            }
+        }
+        return violations;
+    }
+
+    public List<String> violations(BulkImportSummary summary) {
+        List<String> violations = new ArrayList<>();
+        String id = BulkImportSummary.ID;
+        if (summary.getErrors() > 0) {
+            violations.add(String.format(Locale.ROOT, "%s: не импортировано %d из %d строк", id,
+                    summary.getErrors(), (long) summary.getRows() * summary.getRuns()));
+        }
+        double actual = summary.medianRowsPerSecond();
+        String limit = slo.getProperty(id + ".min-rows-per-second");
+        if (limit != null && actual < Double.parseDouble(limit)) {
+            violations.add(String.format(Locale.ROOT, "%s: %.1f строк/с меньше порога %s", id, actual, limit));
+        }
+        String previous = baseline.getProperty(id + ".rows-per-second");
+        if (previous != null) {
+            double before = Double.parseDouble(previous);
+            if (actual < before * (1 - maxRegression)) {
+                violations.add(String.format(Locale.ROOT, "%s: %.1f строк/с против %.1f в прошлом прогоне",
+                        id, actual, before));
+            }
+        }
+        return violations;
+    }
+}
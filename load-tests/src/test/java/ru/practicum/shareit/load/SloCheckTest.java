@@ -0,0 +1,92 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Пороги из slo.properties и сравнение с прошлым прогоном.
+ */
+public class SloCheckTest {
+
+    @Test
+    void shouldPassWithinThresholds() {
+        Properties slo = properties("max-error-rate", "0.01", "search.p95", "100", "search.p99", "250");
+
+        List<String> violations = new SloCheck(slo, new Properties(), 0.2)
+                .violations(List.of(summary("search", 1000, 5, 80, 200)));
+
+        assertTrue(violations.isEmpty(), violations.toString());
+    }
+
+    @Test
+    void shouldReportThresholdsAndErrorRate() {
+        Properties slo = properties("max-error-rate", "0.01", "search.p95", "100", "search.p99", "250");
+
+        List<String> violations = new SloCheck(slo, new Properties(), 0.2)
+                .violations(List.of(summary("search", 1000, 20, 120, 300)));
+
+        assertEquals(3, violations.size(), violations.toString());
+        assertTrue(violations.get(0).startsWith("search: доля ошибок"));
+        assertTrue(violations.get(1).startsWith("search.p95"));
+        assertTrue(violations.get(2).startsWith("search.p99"));
+    }
+
+    @Test
+    void shouldReportRegressionAgainstBaselineAboveNoise() {
+        Properties baseline = properties("search.p95", "10.000", "search.p99", "0.500");
+
+        List<String> violations = new SloCheck(new Properties(), baseline, 0.2)
+                .violations(List.of(summary("search", 1000, 0, 13, 0.9)));
+
+        assertEquals(List.of("search.p95: 13.000 мс против 10.000 мс в прошлом прогоне"), violations);
+    }
+
+    @Test
+    void shouldReportThroughputDropAgainstBaseline() {
+        Properties baseline = properties("search.rps", "1000.0", "owner-items.rps", "500.0");
+
+        List<String> violations = new SloCheck(new Properties(), baseline, 0.2).violations(List.of(
+                new EndpointSummary("search", 42_000, 0, 700, 1, 2, 3, 4),
+                new EndpointSummary("owner-items", 27_000, 0, 450, 1, 2, 3, 4)));
+
+        assertEquals(List.of("search.rps: 700.0 запросов/с против 1000.0 в прошлом прогоне"), violations);
+    }
+
+    @Test
+    void shouldSkipScenarioWithoutRequests() {
+        Properties slo = properties("search.p95", "1");
+
+        assertTrue(new SloCheck(slo, new Properties(), 0.2).violations(List.of(summary("search", 0, 0, 0, 0)))
+                .isEmpty());
+    }
+
+    @Test
+    void shouldCheckImportRateAgainstThresholdAndBaseline() {
+        Properties slo = properties("bulk-import.min-rows-per-second", "3000");
+        Properties baseline = properties("bulk-import.rows-per-second", "5000.0");
+        BulkImportSummary summary = new BulkImportSummary(100_000, 3, 2, List.of(2500.0, 3900.0, 4100.0));
+
+        List<String> violations = new SloCheck(slo, baseline, 0.2).violations(summary);
+
+        assertEquals(3900.0, summary.medianRowsPerSecond());
+        assertEquals(List.of("bulk-import: не импортировано 2 из 300000 строк",
+                "bulk-import: 3900.0 строк/с против 5000.0 в прошлом прогоне"), violations);
+    }
+
+    private static EndpointSummary summary(String scenario, long count, long errors, double p95, double p99) {
+        return new EndpointSummary(scenario, count, errors, count / 60.0, p95 / 2, p95, p99, p99 * 2);
+    }
+
+    private static Properties properties(String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+}
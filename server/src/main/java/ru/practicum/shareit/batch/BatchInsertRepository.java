@@ -0,0 +1,16 @@
+package ru.practicum.shareit.batch;
+
+import java.util.List;
+
+/**
+ * Вставка большого числа новых сущностей пакетами JDBC.
+ */
+public interface BatchInsertRepository<T> {
+
+    /**
+     * Сохраняет новые сущности (без id, ключи выдаёт последовательность) пачками по
+     * {@code hibernate.jdbc.batch_size}. После каждой пачки контекст персистентности очищается,
+     * поэтому все загруженные в текущей транзакции сущности становятся отсоединёнными.
+     */
+    List<T> insertAll(List<T> entities);
+}
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.metrics.StatementBudget;
 
 import java.util.List;
 
@@ -16,33 +22,64 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingExporter bookingExporter) {
         this.bookingService = bookingService;
+        this.bookingExporter = bookingExporter;
     }
 
     @GetMapping("/{bookingId}")
+    @StatementBudget(3)
     public BookingOutDto findBookingsForUserOrOwner(@PathVariable Long bookingId,
                                                     @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.findBooking(bookingId, userId);
     }
 
     @GetMapping
-    public List<BookingOutDto> findAllBookingsForOneUser(@RequestParam(defaultValue = "ALL") String state,
-                                                         @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                         @RequestParam(defaultValue = "0") Integer from,
-                                                         @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.findAllForUser(userId, state, from, size);
+    @StatementBudget(4)
+    public ResponseEntity<List<BookingOutDto>> findAllBookingsForOneUser(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
+        List<BookingOutDto> bookings = after == null
+                ? bookingService.findAllForUser(userId, state, from, size)
+                : bookingService.findAllForUser(userId, state, BookingCursor.parse(after), size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDto> findAllForOwner(@RequestParam(defaultValue = "ALL") String state,
-                                               @RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                               @RequestParam(defaultValue = "0") Integer from,
-                                               @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.findAllForOwner(ownerId, state.toUpperCase(), from, size);
+    @StatementBudget(4)
+    public ResponseEntity<List<BookingOutDto>> findAllForOwner(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after) {
+        List<BookingOutDto> bookings = after == null
+                ? bookingService.findAllForOwner(ownerId, state.toUpperCase(), from, size)
+                : bookingService.findAllForOwner(ownerId, state.toUpperCase(), BookingCursor.parse(after), size);
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportForUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingExporter.exportForBooker(userId));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportForOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingExporter.exportForOwner(ownerId));
     }
 
     @PostMapping
@@ -51,10 +88,28 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingOutDto> importBookings(@RequestBody List<BookingDto> bookingDtos,
+                                              @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingService.importBookings(bookingDtos, ownerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingOutDto approveOrRejectBooking(@PathVariable Long bookingId,
                                                 @RequestParam Boolean approved,
                                                 @RequestHeader("X-Sharer-User-Id") Long ownerId) {
         return bookingService.approveOrRejectBooking(ownerId, approved, bookingId);
     }
+
+    /**
+     * Полная страница может быть не последней: курсор на её последний элемент отдаётся в заголовке
+     * и передаётся в параметре after за следующей страницей.
+     */
+    private ResponseEntity<List<BookingOutDto>> withNextCursor(List<BookingOutDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).toString());
+        }
+        return response.body(bookings);
+    }
 }
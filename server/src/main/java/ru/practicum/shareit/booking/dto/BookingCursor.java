@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Позиция в списке бронирований, отсортированном по (start desc, id desc): следующая страница
+ * начинается с бронирований строго после неё. Передаётся строкой вида {@code <start>,<id>}, где start —
+ * полное время начала последнего бронирования страницы, включая доли секунды.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor of(BookingOutDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf(',');
+        try {
+            return new BookingCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException(String.format("Некорректный курсор: %s", cursor));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка всей истории бронирований пользователя строками NDJSON. Бронирования читаются из курсора
+ * в read-only транзакции и пишутся в ответ по одному; контекст персистентности очищается после каждой
+ * порции, так что память не зависит от длины истории. Пользователь проверяется до начала ответа,
+ * чтобы ошибка пришла обычным JSON.
+ */
+@Service
+public class BookingExporter {
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter bookingWriter;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public BookingExporter(BookingRepository bookingRepository,
+                           UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bookingWriter = objectMapper.writerFor(BookingOutDto.class);
+    }
+
+    public StreamingResponseBody exportForBooker(Long userId) {
+        checkUser(userId);
+        return out -> export(() -> bookingRepository.streamAllByBookerId(userId), out);
+    }
+
+    public StreamingResponseBody exportForOwner(Long ownerId) {
+        checkUser(ownerId);
+        return out -> export(() -> bookingRepository.streamAllByItemOwnerId(ownerId), out);
+    }
+
+    private void export(Supplier<Stream<Booking>> bookings, OutputStream out) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Booking> stream = bookings.get()) {
+                    Iterator<Booking> iterator = stream.iterator();
+                    for (int count = 1; iterator.hasNext(); count++) {
+                        out.write(bookingWriter.writeValueAsBytes(BookingMapper.toBookingOutDto(iterator.next())));
+                        out.write('\n');
+                        if (count % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                            em.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void checkUser(Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Пользователь с id %d не найден", userId)));
+    }
+}
@@ -1,38 +1,32 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.batch.BatchInsertRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.StatusEnum;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom,
+        BatchInsertRepository<Booking> {
 
-    Page<Booking> findAllByBooker_Id(Long bookerId, Pageable page);
+    int EXPORT_FETCH_SIZE = 500;
 
     List<Booking> findByBookerIdAndItemIdAndStatusAndStartIsBefore(Long userId,
                                                                    Long itemId,
                                                                    StatusEnum status,
                                                                    LocalDateTime now);
 
-    Page<Booking> findAllByBooker_IdAndStatus(Long bookerId,
-                                              StatusEnum statusEnum,
-                                              Pageable page);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 ")
-    Page<Booking> findAllByItemOwner(Long ownerId, Pageable page);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.status = ?2 ")
-    Page<Booking> findAllByItemOwnerAndStatus(Long ownerId,
-                                              StatusEnum statusEnum,
-                                              Pageable page);
+    @Query("select distinct b.item.id from Booking b where b.booker.id = ?1")
+    List<Long> findItemIdsByBookerId(Long bookerId);
 
     @Query("select b from Booking b where (b.item.id = :itemId) and " +
             "(b.status = :status) and " +
@@ -44,30 +38,52 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                          LocalDateTime start,
                                          LocalDateTime end);
 
-    @Query("select b from Booking b " +
-            "where b.item.id = ?1 " +
-            "and (b.status = ?2 " +
-            "or b.status = ?3) " +
-            "order by b.start desc ")
-    List<Booking> findAllByItem_IdAndStatusOrderByStartDesc(Long itemId,
-                                                            StatusEnum status1,
-                                                            StatusEnum status2);
-
-    Page<Booking> findAllByBooker_IdAndEndBefore(Long userId, LocalDateTime now, Pageable page);
-
-    Page<Booking> findAllByBooker_IdAndStartAfter(Long userId, LocalDateTime now, Pageable page);
-
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long userId,
-                                                              LocalDateTime now,
-                                                              LocalDateTime now1,
-                                                              Pageable page);
-
-    Page<Booking> findByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime now, Pageable page);
-
-    Page<Booking> findByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime now, Pageable page);
-
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long ownerId,
-                                                                 LocalDateTime now,
-                                                                 LocalDateTime now1,
-                                                                 Pageable page);
+    @Query(value = "select id, start_date, end_date, item_id, booker_id, status from (" +
+            "select b.*, row_number() over (" +
+            "partition by b.item_id, case when b.start_date < :now then 0 else 1 end " +
+            "order by case when b.start_date < :now then b.start_date end desc, b.start_date) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) " +
+            "and b.status in (:statuses) " +
+            "and b.start_date <> :now" +
+            ") last_and_next " +
+            "where rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextByItemIds(Collection<Long> itemIds,
+                                           Collection<String> statuses,
+                                           LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(" +
+            "b.id, b.start, b.end, b.status, b.item.id, b.booker.id) " +
+            "from Booking b where b.status in ?1")
+    List<BookingDto> findAllShortByStatusIn(Collection<StatusEnum> statuses);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(" +
+            "b.id, b.start, b.end, b.status, b.item.id, b.booker.id) " +
+            "from Booking b where b.item.id in ?1 and b.status in ?2")
+    List<BookingDto> findAllShortByItemIdInAndStatusIn(Collection<Long> itemIds, Collection<StatusEnum> statuses);
+
+    /**
+     * Все бронирования пользователя в порядке (start desc, id desc) для выгрузки.
+     * Строки читаются из курсора порциями по {@link #EXPORT_FETCH_SIZE}, сущности не отслеживаются на изменения;
+     * поток нужно читать в транзакции и закрыть.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner join fetch b.booker " +
+            "where b.booker.id = ?1 order by b.start desc, b.id desc")
+    Stream<Booking> streamAllByBookerId(Long bookerId);
+
+    /**
+     * Все бронирования вещей владельца в порядке (start desc, id desc) для выгрузки, читаются так же,
+     * как в {@link #streamAllByBookerId(Long)}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner join fetch b.booker " +
+            "where i.owner.id = ?1 order by b.start desc, b.id desc")
+    Stream<Booking> streamAllByItemOwnerId(Long ownerId);
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Срез бронирований без подсчёта общего количества: limit строк начиная с offset.
+     * Для постраничного просмотра по курсору offset равен нулю, а позиция задаётся в спецификации.
+     * Вещь, её владелец и автор бронирования загружаются тем же запросом.
+     */
+    List<Booking> findSlice(Specification<Booking> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.StateEnum;
+import ru.practicum.shareit.enums.StatusEnum;
+
+import java.time.LocalDateTime;
+
+public class BookingSpecifications {
+
+    public static Specification<Booking> byBooker(Long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byItemOwner(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> byState(StateEnum state, LocalDateTime now) {
+        switch (state) {
+            case CURRENT:
+                return (root, query, cb) -> cb.and(
+                        cb.lessThan(root.get("start"), now),
+                        cb.greaterThan(root.get("end"), now));
+            case PAST:
+                return (root, query, cb) -> cb.lessThan(root.get("end"), now);
+            case FUTURE:
+                return (root, query, cb) -> cb.greaterThan(root.get("start"), now);
+            case WAITING:
+                return (root, query, cb) -> cb.equal(root.get("status"), StatusEnum.WAITING);
+            case REJECTED:
+                return (root, query, cb) -> cb.equal(root.get("status"), StatusEnum.REJECTED);
+            default:
+                return (root, query, cb) -> cb.conjunction();
+        }
+    }
+
+    /**
+     * Бронирования строго после курсора в порядке (start desc, id desc). Условие start <= cursor.start
+     * вынесено отдельно, чтобы по нему шёл диапазонный поиск в индексе, а не перебор всех бронирований.
+     */
+    public static Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("start"), cursor.getStart()),
+                cb.or(
+                        cb.lessThan(root.get("start"), cursor.getStart()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
@@ -0,0 +1,261 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс бронирований по вещам в памяти процесса: для каждой вещи хранит отсортированные по началу
+ * подтверждённые и ожидающие бронирования и отвечает на проверку пересечения и поиск последнего/следующего
+ * бронирования за O(log n) без обращения к базе.
+ * <p>
+ * Режим задаётся свойством {@code shareit.booking.availability-index}:
+ * <ul>
+ *     <li>{@code OFF} — индекс не используется (по умолчанию);</li>
+ *     <li>{@code CONSISTENT} — найденное в индексе пересечение сразу отклоняет бронирование,
+ *     а отсутствие пересечения перепроверяется запросом к базе под блокировкой вещи;</li>
+ *     <li>{@code CACHED} — ответ индекса окончательный, подходит только для одного экземпляра сервера.</li>
+ * </ul>
+ * Вещи, которых нет в индексе, загружаются из базы при первом обращении. Сохранённое в транзакции
+ * бронирование попадает в индекс только после её фиксации, а до тех пор вещь выбрасывается из индекса
+ * и читается из базы; при откате в индекс ничего не попадает.
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+
+    public enum Mode {
+        OFF,
+        CONSISTENT,
+        CACHED
+    }
+
+    private static final List<StatusEnum> INDEXED_STATUSES = List.of(StatusEnum.APPROVED, StatusEnum.WAITING);
+
+    private final BookingRepository bookingRepository;
+    private final Mode mode;
+    private final Map<Long, ItemBookings> items = new ConcurrentHashMap<>();
+    private final AtomicLong modifications = new AtomicLong();
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.booking.availability-index:OFF}") Mode mode) {
+        this.bookingRepository = bookingRepository;
+        this.mode = mode;
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    /**
+     * Можно ли считать отсутствие пересечения в индексе окончательным, без проверки в базе.
+     */
+    public boolean isAuthoritative() {
+        return mode == Mode.CACHED;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<Long, List<BookingDto>> bookingsByItem = bookingRepository.findAllShortByStatusIn(INDEXED_STATUSES)
+                .stream()
+                .collect(Collectors.groupingBy(BookingDto::getItemId));
+        bookingsByItem.forEach((itemId, bookings) -> items.put(itemId, new ItemBookings(bookings)));
+        log.info("Индекс бронирований загружен: вещей {}, бронирований {}", bookingsByItem.size(),
+                bookingsByItem.values().stream().mapToInt(List::size).sum());
+    }
+
+    /**
+     * Есть ли у вещи подтверждённое бронирование, пересекающееся с [start, end] (границы включительно,
+     * как в {@code BookingRepository.findBookingsAtSameTime}). При выключенном индексе всегда false.
+     */
+    public boolean hasApprovedAtSameTime(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!isEnabled()) {
+            return false;
+        }
+        return getOrLoad(List.of(itemId)).get(itemId).hasApprovedAtSameTime(start, end);
+    }
+
+    /**
+     * Заполняет последнее (началось раньше now) и следующее (начнётся позже now) бронирование вещей
+     * среди подтверждённых и ожидающих, как {@code BookingRepository.findLastAndNextByItemIds}.
+     */
+    public void setLastAndNext(List<ItemOutDto> itemDtos, LocalDateTime now) {
+        Map<Long, ItemBookings> itemBookings = getOrLoad(itemDtos.stream()
+                .map(ItemOutDto::getId)
+                .collect(Collectors.toList()));
+        itemDtos.forEach(itemDto -> itemBookings.get(itemDto.getId()).setLastAndNext(itemDto, now));
+    }
+
+    public void onBookingSaved(Booking booking) {
+        if (!isEnabled()) {
+            return;
+        }
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(bookingDto);
+            return;
+        }
+        evictItem(bookingDto.getItemId());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(bookingDto);
+            }
+        });
+    }
+
+    /**
+     * Импортированные бронирования не раскладываются по индексу поштучно: их вещи выбрасываются сразу
+     * и ещё раз по завершении транзакции, чтобы в индексе не осталось прочитанного до фиксации импорта.
+     */
+    public void onBookingsImported(Collection<Long> itemIds) {
+        if (!isEnabled()) {
+            return;
+        }
+        itemIds.forEach(this::evictItem);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Long> imported = List.copyOf(itemIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                imported.forEach(BookingAvailabilityIndex.this::evictItem);
+            }
+        });
+    }
+
+    public void evictItem(Long itemId) {
+        modifications.incrementAndGet();
+        items.remove(itemId);
+    }
+
+    public void evictAll() {
+        modifications.incrementAndGet();
+        items.clear();
+    }
+
+    /**
+     * Недостающие в индексе вещи загружаются одним запросом. Если за время запроса индекс менялся,
+     * загруженное используется только для текущего ответа: изменение могло не попасть в выборку.
+     */
+    private Map<Long, ItemBookings> getOrLoad(Collection<Long> itemIds) {
+        Map<Long, ItemBookings> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemBookings itemBookings = items.get(itemId);
+            if (itemBookings != null) {
+                result.put(itemId, itemBookings);
+            } else {
+                missing.add(itemId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        long modificationsBefore = modifications.get();
+        Map<Long, List<BookingDto>> loaded = bookingRepository.findAllShortByItemIdInAndStatusIn(missing,
+                        INDEXED_STATUSES)
+                .stream()
+                .collect(Collectors.groupingBy(BookingDto::getItemId));
+        boolean cacheable = modificationsBefore == modifications.get();
+        for (Long itemId : missing) {
+            ItemBookings itemBookings = new ItemBookings(loaded.getOrDefault(itemId, Collections.emptyList()));
+            result.put(itemId, cacheable ? items.computeIfAbsent(itemId, id -> itemBookings) : itemBookings);
+        }
+        return result;
+    }
+
+    /**
+     * Вещь, загруженная после выброса, уже видит зафиксированное бронирование, и повторное
+     * добавление его только заменит.
+     */
+    private void put(BookingDto booking) {
+        modifications.incrementAndGet();
+        items.computeIfPresent(booking.getItemId(), (itemId, itemBookings) -> {
+            itemBookings.put(booking);
+            return itemBookings;
+        });
+    }
+
+    private static final class ItemBookings {
+        private static final Comparator<BookingDto> BY_START_AND_ID = Comparator
+                .comparing(BookingDto::getStart)
+                .thenComparingLong(BookingDto::getId);
+
+        private final NavigableSet<BookingDto> approved = new TreeSet<>(BY_START_AND_ID);
+        private final NavigableSet<BookingDto> active = new TreeSet<>(BY_START_AND_ID);
+        private final Map<Long, BookingDto> byId = new HashMap<>();
+
+        private ItemBookings(List<BookingDto> bookings) {
+            bookings.forEach(this::put);
+        }
+
+        private synchronized void put(BookingDto booking) {
+            BookingDto previous = byId.remove(booking.getId());
+            if (previous != null) {
+                approved.remove(previous);
+                active.remove(previous);
+            }
+            if (!INDEXED_STATUSES.contains(booking.getStatus())) {
+                return;
+            }
+            byId.put(booking.getId(), booking);
+            active.add(booking);
+            if (booking.getStatus() == StatusEnum.APPROVED) {
+                approved.add(booking);
+            }
+        }
+
+        /**
+         * Подтверждённые бронирования вещи не пересекаются, поэтому с ростом начала растёт и конец:
+         * достаточно проверить последнее бронирование, начавшееся не позже end.
+         */
+        private synchronized boolean hasApprovedAtSameTime(LocalDateTime start, LocalDateTime end) {
+            BookingDto latest = approved.floor(bound(end, Long.MAX_VALUE));
+            return latest != null && !latest.getEnd().isBefore(start);
+        }
+
+        private synchronized void setLastAndNext(ItemOutDto item, LocalDateTime now) {
+            item.setLastBooking(copy(active.lower(bound(now, Long.MIN_VALUE))));
+            item.setNextBooking(copy(active.higher(bound(now, Long.MAX_VALUE))));
+        }
+
+        private static BookingDto bound(LocalDateTime start, long id) {
+            return BookingDto.builder().id(id).start(start).build();
+        }
+
+        private static BookingDto copy(BookingDto booking) {
+            if (booking == null) {
+                return null;
+            }
+            return BookingDto.builder()
+                    .id(booking.getId())
+                    .start(booking.getStart())
+                    .end(booking.getEnd())
+                    .status(booking.getStatus())
+                    .itemId(booking.getItemId())
+                    .bookerId(booking.getBookerId())
+                    .build();
+        }
+    }
+}
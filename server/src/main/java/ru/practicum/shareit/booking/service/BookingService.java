@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 
@@ -12,8 +13,18 @@ public interface BookingService {
 
     List<BookingOutDto> findAllForOwner(Long ownerId, String state, Integer from, Integer size);
 
+    List<BookingOutDto> findAllForUser(Long userId, String state, BookingCursor after, Integer size);
+
+    List<BookingOutDto> findAllForOwner(Long ownerId, String state, BookingCursor after, Integer size);
+
     BookingOutDto createBooking(BookingDto bookingDto, Long userId);
 
+    /**
+     * Загружает историю бронирований вещей владельца как есть, со статусами и датами в прошлом,
+     * одной транзакцией с пакетной вставкой.
+     */
+    List<BookingOutDto> importBookings(List<BookingDto> bookingDtos, Long ownerId);
+
     BookingOutDto approveOrRejectBooking(Long ownerId, Boolean approved, Long bookingId);
 
 }
@@ -1,36 +1,45 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
 import ru.practicum.shareit.enums.StateEnum;
 import ru.practicum.shareit.enums.StatusEnum;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.validation.ValidationException;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class BookingServiceImpl implements BookingService {
 
-    private static final Sort SORTED = Sort.by(Sort.Direction.DESC, "start");
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final Sort SORTED = Sort.by(Sort.Direction.DESC, "start", "id");
     private BookingRepository bookingRepository;
     private ItemRepository itemRepository;
     private UserRepository userRepository;
+    private BookingAvailabilityIndex availabilityIndex;
+    private ItemSummaryService itemSummaryService;
 
     @Override
     public BookingOutDto findBooking(Long bookingId, Long userId) {
@@ -48,123 +57,52 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingOutDto> findAllForUser(Long userId, String state, Integer from, Integer size) {
         checkUser(userId);
-        PageRequest page = PageRequest.of(from / size, size, SORTED);
-        try {
-            StateEnum stateEnum = StateEnum.valueOf(state);
-            switch (stateEnum) {
-                case WAITING:
-                    return bookingRepository
-                            .findAllByBooker_IdAndStatus(userId, StatusEnum.WAITING, page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository
-                            .findAllByBooker_IdAndEndBefore(userId, LocalDateTime.now(), page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository
-                            .findAllByBooker_IdAndStartAfter(userId, LocalDateTime.now(), page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case CURRENT:
-                    return bookingRepository
-                            .findByBookerIdAndStartIsBeforeAndEndIsAfter(userId,
-                                    LocalDateTime.now(), LocalDateTime.now(), page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository
-                            .findAllByBooker_IdAndStatus(userId, StatusEnum.REJECTED, page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                default:
-                    return bookingRepository
-                            .findAllByBooker_Id(userId, page)
-                            .getContent()
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-            }
-        } catch (IllegalArgumentException e) {
-            throw new UnknownStateException(String.format("Unknown state: %s", state));
-        }
+        return findAll(BookingSpecifications.byBooker(userId), state, null, from, size);
     }
 
     @Override
     public List<BookingOutDto> findAllForOwner(Long ownerId, String state, Integer from, Integer size) {
         checkUser(ownerId);
-        PageRequest page = PageRequest.of(from / size, size, SORTED);
-        try {
-            StateEnum stateEnum = StateEnum.valueOf(state);
-            switch (stateEnum) {
-                case WAITING:
-                    return bookingRepository
-                            .findAllByItemOwnerAndStatus(ownerId, StatusEnum.WAITING, page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository
-                            .findByItemOwnerIdAndEndIsBefore(ownerId, LocalDateTime.now(), page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository
-                            .findByItemOwnerIdAndStartIsAfter(ownerId, LocalDateTime.now(), page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case CURRENT:
-                    return bookingRepository
-                            .findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(ownerId,
-                                    LocalDateTime.now(), LocalDateTime.now(), page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository
-                            .findAllByItemOwnerAndStatus(ownerId, StatusEnum.REJECTED, page)
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-                default:
-                    return bookingRepository
-                            .findAllByItemOwner(ownerId, page)
-                            .getContent()
-                            .stream()
-                            .sorted(Comparator.comparing(Booking::getStart).reversed())
-                            .map(BookingMapper::toBookingOutDto)
-                            .collect(Collectors.toList());
-            }
-        } catch (IllegalArgumentException e) {
-            throw new UnknownStateException(String.format("Unknown state: %s", state));
+        return findAll(BookingSpecifications.byItemOwner(ownerId), state, null, from, size);
+    }
+
+    @Override
+    public List<BookingOutDto> findAllForUser(Long userId, String state, BookingCursor after, Integer size) {
+        checkUser(userId);
+        return findAll(BookingSpecifications.byBooker(userId), state, after, 0, size);
+    }
+
+    @Override
+    public List<BookingOutDto> findAllForOwner(Long ownerId, String state, BookingCursor after, Integer size) {
+        checkUser(ownerId);
+        return findAll(BookingSpecifications.byItemOwner(ownerId), state, after, 0, size);
+    }
+
+    /**
+     * Бронирования пользователя в состоянии state, упорядоченные базой по (start desc, id desc):
+     * size штук начиная с позиции from либо сразу после курсора after.
+     */
+    private List<BookingOutDto> findAll(Specification<Booking> byUser, String state,
+                                        BookingCursor after, long from, Integer size) {
+        StateEnum stateEnum = StateEnum.from(state)
+                .orElseThrow(() -> new UnknownStateException(String.format("Unknown state: %s", state)));
+        Specification<Booking> spec = byUser.and(BookingSpecifications.byState(stateEnum, LocalDateTime.now()));
+        if (after != null) {
+            spec = spec.and(BookingSpecifications.after(after));
         }
+        return bookingRepository.findSlice(spec, SORTED, from, size)
+                .stream()
+                .map(BookingMapper::toBookingOutDto)
+                .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public BookingOutDto createBooking(BookingDto bookingDto, Long userId) {
         User user = checkUser(userId);
-        Item item = checkItem(bookingDto.getItemId());
+        Item item = checkItemForUpdate(bookingDto.getItemId());
         checkTime(bookingDto.getStart(), bookingDto.getEnd());
-        if (item.getOwner().equals(user)) {
+        if (item.getOwner().getId().equals(user.getId())) {
             throw new BookingAccessDeniedForOwnerException(String.format(
                     "Вещь с id %d  недоступна для бронирования для владельца", bookingDto.getItemId()));
         }
@@ -172,17 +110,71 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingAccessDeniedException(String.format(
                     "Вещь с id %d  недоступна для бронирования", bookingDto.getItemId()));
         }
-        List<Booking> bookingsAtSameTime = bookingRepository.findBookingsAtSameTime(bookingDto.getItemId(),
-                StatusEnum.APPROVED, bookingDto.getStart(), bookingDto.getEnd());
-        if (!bookingsAtSameTime.isEmpty()) {
-            throw new ValidException("Время для аренды недоступно");
-        }
+        checkNoApprovedAtSameTime(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         Booking booking = BookingMapper.toBooking(bookingDto, user, item);
         booking.setStatus(StatusEnum.WAITING);
-        return BookingMapper.toBookingOutDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.onBookingSaved(saved);
+        itemSummaryService.onBookingsChanged(List.of(saved.getItem().getId()));
+        return BookingMapper.toBookingOutDto(saved);
     }
 
     @Override
+    @Transactional
+    public List<BookingOutDto> importBookings(List<BookingDto> bookingDtos, Long ownerId) {
+        checkUser(ownerId);
+        Map<Long, Item> items = lockItems(bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .collect(Collectors.toCollection(TreeSet::new)));
+        Map<Long, User> bookers = userRepository.findAllById(bookingDtos.stream()
+                        .map(BookingDto::getBookerId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> approved = findApprovedByItem(items.keySet());
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+        for (BookingDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            if (!item.getOwner().getId().equals(ownerId)) {
+                throw new ObjectNotFoundException(
+                        String.format("У пользователя с id %d нет вещи с id %d", ownerId, item.getId()));
+            }
+            User booker = bookers.get(bookingDto.getBookerId());
+            if (booker == null) {
+                throw new ObjectNotFoundException(
+                        String.format("Пользователь с id %d не найден", bookingDto.getBookerId()));
+            }
+            if (booker.getId().equals(ownerId)) {
+                throw new BookingAccessDeniedForOwnerException(String.format(
+                        "Вещь с id %d  недоступна для бронирования для владельца", item.getId()));
+            }
+            if (!bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+                throw new StartTimeAndEndTimeException("Время начала должно быть раньше конца!");
+            }
+            Booking booking = BookingMapper.toBooking(bookingDto, booker, item);
+            booking.setId(null);
+            if (booking.getStatus() == null) {
+                booking.setStatus(StatusEnum.WAITING);
+            }
+            if (booking.getStatus() == StatusEnum.APPROVED) {
+                addApproved(approved.get(item.getId()), booking.getStart(), booking.getEnd());
+            }
+            bookings.add(booking);
+        }
+        try {
+            bookingRepository.insertAll(bookings);
+        } catch (DataIntegrityViolationException e) {
+            throw approvedOverlapOrRethrow(e);
+        }
+        availabilityIndex.onBookingsImported(items.keySet());
+        itemSummaryService.onBookingsChanged(items.keySet());
+        return bookings.stream()
+                .map(BookingMapper::toBookingOutDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public BookingOutDto approveOrRejectBooking(Long ownerId, Boolean approved, Long bookingId) {
         checkUser(ownerId);
         Booking booking = checkBooking(bookingId);
@@ -191,6 +183,8 @@ public class BookingServiceImpl implements BookingService {
             if (booking.getStatus().equals(StatusEnum.APPROVED)) {
                 throw new ValidationException(String.format("Бронирование с id %d уже подтверждено", bookingId));
             }
+            checkItemForUpdate(booking.getItem().getId());
+            checkNoApprovedAtSameTime(booking.getItem().getId(), booking.getStart(), booking.getEnd());
             booking.setStatus(StatusEnum.APPROVED);
         } else if (approved.equals(false)) {
             if (booking.getStatus().equals(StatusEnum.REJECTED)) {
@@ -198,7 +192,15 @@ public class BookingServiceImpl implements BookingService {
             }
             booking.setStatus(StatusEnum.REJECTED);
         }
-        return BookingMapper.toBookingOutDto(bookingRepository.save(booking));
+        Booking saved;
+        try {
+            saved = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw approvedOverlapOrRethrow(e);
+        }
+        availabilityIndex.onBookingSaved(saved);
+        itemSummaryService.onBookingsChanged(List.of(saved.getItem().getId()));
+        return BookingMapper.toBookingOutDto(saved);
     }
 
     private User checkUser(Long userId) {
@@ -206,20 +208,87 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Пользователь с id %d не найден", userId)));
     }
 
-    private Item checkItem(Long itemId) {
-        return itemRepository.findById(itemId)
+    private Item checkItemForUpdate(Long itemId) {
+        return itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Вещь с id %d не найдена", itemId)));
     }
 
+    /**
+     * Блокирует вещи по возрастанию id, чтобы два импорта с общими вещами не ждали друг друга по кругу.
+     * Владельцы загружаются сразу: после пакетной вставки контекст сохранения очищен, а ответ их показывает.
+     */
+    private Map<Long, Item> lockItems(SortedSet<Long> itemIds) {
+        Map<Long, Item> items = new HashMap<>();
+        itemIds.forEach(itemId -> {
+            Item item = checkItemForUpdate(itemId);
+            Hibernate.initialize(item.getOwner());
+            items.put(itemId, item);
+        });
+        return items;
+    }
+
+    /**
+     * Подтверждённые бронирования вещей: начало -> конец. Они не пересекаются, поэтому концы растут
+     * вместе с началами.
+     */
+    private Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> findApprovedByItem(Collection<Long> itemIds) {
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> approved = new HashMap<>();
+        itemIds.forEach(itemId -> approved.put(itemId, new TreeMap<>()));
+        bookingRepository.findAllShortByItemIdInAndStatusIn(itemIds, List.of(StatusEnum.APPROVED))
+                .forEach(booking -> approved.get(booking.getItemId())
+                        .merge(booking.getStart(), booking.getEnd(), (a, b) -> a.isAfter(b) ? a : b));
+        return approved;
+    }
+
+    /**
+     * Та же проверка, что в {@link #checkNoApprovedAtSameTime}, с границами включительно: пересечься
+     * может только последнее бронирование, начавшееся не позже end.
+     */
+    private void addApproved(NavigableMap<LocalDateTime, LocalDateTime> approved,
+                             LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> latest = approved.floorEntry(end);
+        if (latest != null && !latest.getValue().isBefore(start)) {
+            throw new ValidException("Время для аренды недоступно");
+        }
+        approved.put(start, end);
+    }
+
+    /**
+     * Нарушение ограничения BOOKINGS_APPROVED_NO_OVERLAP (SQLSTATE 23P01 в Postgres) означает занятое время,
+     * прочие нарушения целостности пробрасываются как есть.
+     */
+    private RuntimeException approvedOverlapOrRethrow(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return new ValidException("Время для аренды недоступно");
+            }
+        }
+        return e;
+    }
+
+    private void checkNoApprovedAtSameTime(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (availabilityIndex.hasApprovedAtSameTime(itemId, start, end)) {
+            throw new ValidException("Время для аренды недоступно");
+        }
+        if (availabilityIndex.isAuthoritative()) {
+            return;
+        }
+        List<Booking> bookingsAtSameTime = bookingRepository.findBookingsAtSameTime(itemId,
+                StatusEnum.APPROVED, start, end);
+        if (!bookingsAtSameTime.isEmpty()) {
+            throw new ValidException("Время для аренды недоступно");
+        }
+    }
+
     private Booking checkBooking(Long bookingId) {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Бронирование с id %d не найдено", bookingId)));
     }
 
     private void checkOwner(Long userId, Long itemId) {
-        checkUser(userId);
-        Item item = checkItem(itemId);
-        long ownerId = item.getOwner().getId();
+        long ownerId = itemRepository.findOwnerIdById(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Вещь с id %d не найдена", itemId)));
         if (ownerId != userId) {
             throw new ObjectNotFoundException(
                     String.format("У пользователя с id %d нет вещи с id %d", userId, itemId));
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Кэши проверок существования пользователя и владельца вещи. Размер и время жизни записей задаются
+ * {@code spring.cache.caffeine.spec}, попадания и промахи публикуются метриками {@code cache.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String ITEM_OWNERS = "itemOwners";
+}
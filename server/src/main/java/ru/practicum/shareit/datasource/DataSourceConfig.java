@@ -0,0 +1,51 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * В режиме виртуальных потоков ({@code spring.threads.virtual.enabled=true} на Java 21) запросов
+ * одновременно может быть сколько угодно, поэтому очередь к пулу Hikari ограничивается семафором
+ * размером с пул. Пул ищется и под другими обёртками источника данных, например журналом медленных запросов.
+ * Пока пул не запущен, незаданный {@code maximum-pool-size} хранится как -1, а 10 Hikari подставляет только
+ * при первом соединении, поэтому размер по умолчанию задаётся здесь явно — иначе у семафора не было бы разрешений.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DataSourceConfig {
+    static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                try {
+                    if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                        return bean;
+                    }
+                    HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+                    if (pool.getMaximumPoolSize() < 1) {
+                        pool.setMaximumPoolSize(DEFAULT_POOL_SIZE);
+                    }
+                    return new ConnectionLimitingDataSource(dataSource, pool.getMaximumPoolSize(),
+                            Duration.ofMillis(pool.getConnectionTimeout()));
+                } catch (SQLException e) {
+                    throw new BeanCreationException(beanName, "Не удалось получить пул соединений", e);
+                }
+            }
+        };
+    }
+}
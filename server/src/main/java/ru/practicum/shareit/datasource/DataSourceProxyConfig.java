@@ -0,0 +1,45 @@
+package ru.practicum.shareit.datasource;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Одна обёртка datasource-proxy для всех слушателей запросов к базе — бинов {@link QueryExecutionListener}
+ * (журнал медленных запросов, спаны JDBC). Без слушателей источник данных не оборачивается.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                List<QueryExecutionListener> queryListeners = listeners.orderedStream().toList();
+                if (queryListeners.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                for (QueryExecutionListener listener : queryListeners) {
+                    builder.listener(listener);
+                    if (listener instanceof MethodExecutionListener methodListener) {
+                        builder.methodListener(methodListener);
+                    }
+                }
+                return builder.build();
+            }
+        };
+    }
+}
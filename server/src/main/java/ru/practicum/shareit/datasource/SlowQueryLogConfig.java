@@ -0,0 +1,23 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Журнал медленных запросов: включается свойством {@code shareit.datasource.slow-query-threshold}
+ * (в профиле {@code prod}), вместо {@code spring.jpa.show-sql}, который пишет каждый запрос.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(SlowQueryLogConfig.THRESHOLD_PROPERTY)
+public class SlowQueryLogConfig {
+    static final String THRESHOLD_PROPERTY = "shareit.datasource.slow-query-threshold";
+
+    @Bean
+    public SlowQueryLogger slowQueryLogger(@Value("${" + THRESHOLD_PROPERTY + "}") Duration threshold) {
+        return new SlowQueryLogger(threshold);
+    }
+}
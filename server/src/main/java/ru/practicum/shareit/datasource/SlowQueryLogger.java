@@ -0,0 +1,35 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import net.ttddyy.dsproxy.listener.logging.QueryLogEntryCreator;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Пишет в лог только запросы, выполнявшиеся не меньше порога, вместе со значениями параметров.
+ */
+@Slf4j
+public class SlowQueryLogger implements QueryExecutionListener {
+    private final long thresholdMillis;
+    private final QueryLogEntryCreator entryCreator = new DefaultQueryLogEntryCreator();
+
+    public SlowQueryLogger(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() >= thresholdMillis && log.isWarnEnabled()) {
+            log.warn("Медленный запрос: {}", entryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+        }
+    }
+}
@@ -1,10 +1,26 @@
 package ru.practicum.shareit.enums;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 public enum StateEnum { //для эндпоинта по выдаче бронирований пользователя
     ALL, //все
     CURRENT, //текущие
     PAST, //завершённые
     FUTURE, //будущие
     WAITING, //ожидающие подтверждения
-    REJECTED //отклонённые
+    REJECTED; //отклонённые
+
+    private static final Map<String, StateEnum> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
+    /**
+     * Состояние по точному имени; в отличие от {@link #valueOf(String)} не бросает исключение на неизвестное.
+     */
+    public static Optional<StateEnum> from(String state) {
+        return state == null ? Optional.empty() : Optional.ofNullable(BY_NAME.get(state));
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.errorHandler;
 
+import jakarta.validation.ValidationException;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +11,6 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exceptions.*;
 
-import javax.validation.ValidationException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +67,14 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleBookingTimeUnavailable(final ValidException e) {
+        return new ResponseEntity<>(
+                new ErrorResponse("Бронирование не доступно!", e.getMessage()),
+                HttpStatus.CONFLICT
+        );
+    }
+
     @ExceptionHandler
     public ResponseEntity<ErrorResponse> handleBookingAccessForOwnerDenied(final BookingAccessDeniedForOwnerException e) {
         return new ResponseEntity<>(
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class BookingAccessDeniedException extends RuntimeException {
+public class BookingAccessDeniedException extends ShareItException {
 
     public BookingAccessDeniedException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class BookingAccessDeniedForOwnerException extends RuntimeException {
+public class BookingAccessDeniedForOwnerException extends ShareItException {
 
     public BookingAccessDeniedForOwnerException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class CommentAccessDeniedException extends RuntimeException {
+public class CommentAccessDeniedException extends ShareItException {
 
     public CommentAccessDeniedException(String message) {
         super(message);
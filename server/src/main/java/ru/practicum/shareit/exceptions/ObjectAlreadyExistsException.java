@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class ObjectAlreadyExistsException extends RuntimeException {
+public class ObjectAlreadyExistsException extends ShareItException {
     public ObjectAlreadyExistsException(String message) {
         super(message);
     }
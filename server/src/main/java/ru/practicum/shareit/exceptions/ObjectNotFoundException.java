@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class ObjectNotFoundException extends RuntimeException {
+public class ObjectNotFoundException extends ShareItException {
 
     public ObjectNotFoundException(String message) {
         super(message);
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.exceptions;
+
+/**
+ * Ожидаемая ошибка запроса, которую {@code ErrorHandler} превращает в ответ клиенту. Стек вызовов
+ * не заполняется: он не нужен для ответа, а на частых 404 его построение заметно в профиле.
+ */
+public abstract class ShareItException extends RuntimeException {
+
+    protected ShareItException(String message) {
+        super(message, null, false, false);
+    }
+}
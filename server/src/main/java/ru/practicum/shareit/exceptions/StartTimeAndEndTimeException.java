@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class StartTimeAndEndTimeException extends RuntimeException {
+public class StartTimeAndEndTimeException extends ShareItException {
 
     public StartTimeAndEndTimeException(String message) {
         super(message);
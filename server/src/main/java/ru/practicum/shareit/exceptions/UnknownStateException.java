@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exceptions;
 
-public class UnknownStateException extends RuntimeException {
+public class UnknownStateException extends ShareItException {
 
     public UnknownStateException(String message) {
         super(message);
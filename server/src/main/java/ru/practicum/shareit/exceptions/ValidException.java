@@ -1,8 +1,8 @@
 package ru.practicum.shareit.exceptions;
 
-public class ValidException extends RuntimeException {
+public class ValidException extends ShareItException {
 
     public ValidException(String message) {
-        super((message));
+        super(message);
     }
 }
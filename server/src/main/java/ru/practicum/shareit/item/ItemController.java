@@ -1,12 +1,19 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
+import ru.practicum.shareit.item.bulk.ItemBulkReader;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.StatementBudget;
 
+import java.io.IOException;
 import java.util.Collection;
 
 
@@ -18,10 +25,12 @@ import java.util.Collection;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemBulkImporter itemBulkImporter;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ItemBulkImporter itemBulkImporter) {
         this.itemService = itemService;
+        this.itemBulkImporter = itemBulkImporter;
     }
 
     @PostMapping
@@ -30,6 +39,18 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    /**
+     * Импорт из NDJSON или CSV потоком; в ответе — итог по каждой записи строкой NDJSON.
+     */
+    @PostMapping(value = "/bulk", consumes = {ItemBulkReader.NDJSON_VALUE, ItemBulkReader.CSV_VALUE})
+    public void bulkImportItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemBulkImporter.importItems(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream(), response.getOutputStream());
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(@RequestBody CommentDto commentDto,
                                     @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -45,12 +66,14 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
+    @StatementBudget(3)
     public ItemOutDto getItemById(@PathVariable Long id,
                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.getItemById(id, userId);
     }
 
     @GetMapping
+    @StatementBudget(6)
     public Collection<ItemOutDto> findAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                   @RequestParam(defaultValue = "0") Integer from,
                                                   @RequestParam(defaultValue = "10") Integer size) {
@@ -58,6 +81,7 @@ public class ItemController {
     }
 
     @GetMapping("/search")
+    @StatementBudget(3)
     public Collection<ItemOutDto> findByText(@RequestParam String text,
                                              @RequestParam(defaultValue = "0") Integer from,
                                              @RequestParam(defaultValue = "10") Integer size) {
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemInDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт вещей из потока NDJSON или CSV. Записи копятся пакетами по {@code shareit.items.bulk.batch-size},
+ * каждый пакет сохраняется своей транзакцией, и итоги его записей сразу пишутся в ответ строками NDJSON:
+ * память не растёт с размером импорта. Ошибка в записи отклоняет только её; после синтаксической
+ * ошибки поток дальше не разобрать, и импорт на ней заканчивается.
+ */
+@Slf4j
+@Service
+public class ItemBulkImporter {
+    private static final String SAVE_FAILED = "Пакет не сохранён";
+
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemBulkReader reader;
+    private final ObjectWriter resultWriter;
+    private final int batchSize;
+
+    public ItemBulkImporter(ItemService itemService,
+                            UserRepository userRepository,
+                            ItemBulkReader reader,
+                            ObjectMapper objectMapper,
+                            @Value("${shareit.items.bulk.batch-size:1000}") int batchSize) {
+        this.itemService = itemService;
+        this.userRepository = userRepository;
+        this.reader = reader;
+        this.resultWriter = objectMapper.writerFor(ItemBulkResult.class);
+        this.batchSize = batchSize;
+    }
+
+    public void importItems(Long userId, MediaType contentType, InputStream in, OutputStream out) throws IOException {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Пользователь с id %d не найден", userId)));
+        List<ItemBulkLine> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<ItemInDto> items = reader.read(in, contentType)) {
+            for (long line = 1; ; line++) {
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    batch.add(ItemBulkLine.parsed(line, items.nextValue()));
+                } catch (DatabindException e) {
+                    batch.add(ItemBulkLine.failed(line, "Некорректная запись: " + e.getOriginalMessage()));
+                } catch (StreamReadException e) {
+                    batch.add(ItemBulkLine.failed(line, "Некорректная запись: " + e.getOriginalMessage()));
+                    break;
+                }
+                if (batch.size() == batchSize) {
+                    write(save(batch, userId), out);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(save(batch, userId), out);
+        }
+        out.flush();
+    }
+
+    private List<ItemBulkResult> save(List<ItemBulkLine> batch, Long userId) {
+        try {
+            return itemService.importItemBatch(batch, userId);
+        } catch (DataAccessException e) {
+            log.warn("{} строк {}-{}: {}", SAVE_FAILED, batch.get(0).getLine(), batch.get(batch.size() - 1).getLine(),
+                    e.getMostSpecificCause().getMessage());
+            return batch.stream()
+                    .map(line -> ItemBulkResult.failed(line.getLine(),
+                            line.getError() != null ? line.getError() : SAVE_FAILED))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void write(List<ItemBulkResult> results, OutputStream out) throws IOException {
+        for (ItemBulkResult result : results) {
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write('\n');
+        }
+    }
+}
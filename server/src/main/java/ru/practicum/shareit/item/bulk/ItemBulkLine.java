@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.bulk;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemInDto;
+
+/**
+ * Прочитанная запись импорта с её порядковым номером; если запись не разобралась, вместо вещи — ошибка.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemBulkLine {
+    private final long line;
+    private final ItemInDto item;
+    private final String error;
+
+    public static ItemBulkLine parsed(long line, ItemInDto item) {
+        return new ItemBulkLine(line, item, null);
+    }
+
+    public static ItemBulkLine failed(long line, String error) {
+        return new ItemBulkLine(line, null, error);
+    }
+}
@@ -1,12 +1,12 @@
 package ru.practicum.shareit.item.comment.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.format.annotation.DateTimeFormat;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
-import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Getter
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Table(name = "COMMENTS", schema = "PUBLIC")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "COMMENTS_SEQ", allocationSize = 50)
     private Long id;
     @Column(name = "TEXT")
     private String text;
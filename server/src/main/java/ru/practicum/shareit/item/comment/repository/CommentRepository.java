@@ -1,14 +1,28 @@
 package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = {"user", "item", "item.owner"})
     List<Comment> findAllByItem_Id(Long itemId, Sort sort);
+
+    @Query("select c from Comment c " +
+            "join fetch c.user " +
+            "join fetch c.item i " +
+            "join fetch i.owner " +
+            "where i.id in ?1 ")
+    List<Comment> findAllByItem_IdIn(Collection<Long> itemIds, Sort sort);
+
+    @Query("select distinct c.item.id from Comment c where c.user.id = ?1")
+    List<Long> findItemIdsByUserId(Long userId);
 }
@@ -1,11 +1,10 @@
 package ru.practicum.shareit.item.model;
 
+import jakarta.persistence.*;
 import lombok.*;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import javax.persistence.*;
-
 /**
  * TODO Sprint add-controllers.
  */
@@ -20,7 +19,8 @@ import javax.persistence.*;
 @Table(name = "ITEMS", schema = "PUBLIC")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "ITEMS_SEQ", allocationSize = 50)
     private Long id;
     @Column(name = "NAME", length = 100, nullable = false)
     private String name;
@@ -1,25 +1,74 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.batch.BatchInsertRepository;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, BatchInsertRepository<Item> {
 
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findById(Long id);
+
+    @EntityGraph(attributePaths = "owner")
     Page<Item> findAllByOwner_Id(Long id, Pageable page);
 
-    @Query("select i from Item i " +
+    /**
+     * Блокирует строку вещи до конца транзакции: проверки пересечения бронирований
+     * одной вещи выполняются строго по очереди, бронирования разных вещей друг друга не ждут.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    /**
+     * Владелец вещи для проверки прав без загрузки самой вещи.
+     */
+    @Cacheable(cacheNames = CacheConfig.ITEM_OWNERS, key = "#p0", unless = "#result == null")
+    @Query("select i.owner.id from Item i where i.id = ?1")
+    Optional<Long> findOwnerIdById(Long id);
+
+    @Query(value = "select i from Item i " +
             "where i.available = true " +
             "and (lower(i.description) like lower(concat('%', ?1, '%')) " +
-            "or lower(i.name) like lower(concat('%', ?1, '%'))) ")
+            "or lower(i.name) like lower(concat('%', ?1, '%'))) " +
+            "order by case when lower(i.name) like lower(concat('%', ?1, '%')) then 0 else 1 end, i.id",
+            countQuery = "select count(i) from Item i " +
+                    "where i.available = true " +
+                    "and (lower(i.description) like lower(concat('%', ?1, '%')) " +
+                    "or lower(i.name) like lower(concat('%', ?1, '%'))) ")
+    @EntityGraph(attributePaths = "owner")
     Page<Item> search(String text, Pageable page);
 
-    List<Item> findAllByRequest_Id(Long requestId);
+    /**
+     * Id страницы поиска на PostgreSQL: LIKE по {@code lower(name)} и {@code lower(description)} идёт
+     * по триграммным индексам, ближе к началу — вещи, название которых больше похоже на текст.
+     */
+    @Query(value = "select i.id from items i " +
+            "where i.is_available = true " +
+            "and (lower(i.description) like concat('%', lower(:text), '%') " +
+            "or lower(i.name) like concat('%', lower(:text), '%')) " +
+            "order by similarity(lower(i.name), lower(:text)) desc, i.id", nativeQuery = true)
+    List<Long> searchIdsBySimilarity(String text, Pageable page);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllByIdIn(Collection<Long> ids);
 
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllByRequest_Id(Long requestId);
 
+    @EntityGraph(attributePaths = "owner")
     List<Item> findByRequestIdIn(List<Long> requestIds);
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании.
+ * <p>
+ * Режим задаётся свойством {@code shareit.items.search}:
+ * <ul>
+ *     <li>{@code LIKE} — переносимый запрос: вещи с текстом в названии идут раньше вещей с текстом
+ *     только в описании (по умолчанию, так работают тесты на H2);</li>
+ *     <li>{@code TRIGRAM} — только PostgreSQL с pg_trgm из {@code schema-postgresql.sql}: отбор по LIKE
+ *     обслуживают триграммные индексы, вещи упорядочены по сходству названия с текстом
+ *     ({@code similarity}). Запрос отдаёт id страницы, вещи с владельцами читаются вторым запросом.</li>
+ * </ul>
+ */
+@Component
+public class ItemSearch {
+
+    public enum Mode {
+        LIKE,
+        TRIGRAM
+    }
+
+    private final ItemRepository itemRepository;
+    private final Mode mode;
+
+    public ItemSearch(ItemRepository itemRepository,
+                      @Value("${shareit.items.search:LIKE}") Mode mode) {
+        this.itemRepository = itemRepository;
+        this.mode = mode;
+    }
+
+    public List<Item> search(String text, Pageable page) {
+        if (mode == Mode.LIKE) {
+            return itemRepository.search(text, page).getContent();
+        }
+        List<Long> ids = itemRepository.searchIdsBySimilarity(text, page);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .collect(Collectors.toList());
+    }
+}
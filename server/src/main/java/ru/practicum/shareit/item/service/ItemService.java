@@ -1,15 +1,24 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.bulk.ItemBulkLine;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
 
     ItemOutDto createItem(ItemInDto itemDto, Long userId);
 
+    /**
+     * Сохраняет пакет потокового импорта одной транзакцией. Записи, не прошедшие проверку,
+     * пропускаются с ошибкой в результате, остальные вставляются пакетами.
+     */
+    List<ItemBulkResult> importItemBatch(List<ItemBulkLine> lines, Long userId);
+
     ItemOutDto updateItem(ItemInDto itemDto, Long id, Long userId);
 
     ItemOutDto getItemById(Long id, Long userId);
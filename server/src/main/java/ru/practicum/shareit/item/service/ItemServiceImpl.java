@@ -1,32 +1,40 @@
 package ru.practicum.shareit.item.service;
 
 
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.dto.BookingDto;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.enums.StatusEnum;
 import ru.practicum.shareit.exceptions.CommentAccessDeniedException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.bulk.ItemBulkLine;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.validation.ValidationException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -37,13 +45,21 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
 
     private static final Sort SORTED = Sort.by(Sort.Direction.DESC, "created");
+    private static final Sort SORTED_BY_ID = Sort.by("id");
+    private static final List<String> LAST_AND_NEXT_STATUSES =
+            List.of(StatusEnum.APPROVED.name(), StatusEnum.WAITING.name());
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemSummaryService itemSummaryService;
+    private final ItemSearch itemSearch;
 
     @Override
+    @Transactional
     public ItemOutDto createItem(ItemInDto itemDto, Long userId) {
         User user = checkUser(userId);
         Long requestId = itemDto.getRequestId();
@@ -55,10 +71,49 @@ public class ItemServiceImpl implements ItemService {
         } else {
             item = ItemMapper.toItem(itemDto, user);
         }
-        return ItemMapper.toItemOutDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSummaryService.onItemsCreated(List.of(saved));
+        return ItemMapper.toItemOutDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemBulkResult> importItemBatch(List<ItemBulkLine> lines, Long userId) {
+        User user = checkUser(userId);
+        Map<Long, ItemRequest> requests = findRequests(lines.stream()
+                .map(ItemBulkLine::getItem)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        List<ItemBulkResult> results = new ArrayList<>(lines.size());
+        List<ItemBulkResult> savedResults = new ArrayList<>(lines.size());
+        List<Item> items = new ArrayList<>(lines.size());
+        for (ItemBulkLine line : lines) {
+            if (line.getError() != null) {
+                results.add(ItemBulkResult.failed(line.getLine(), line.getError()));
+                continue;
+            }
+            try {
+                checkNewItem(line.getItem());
+                items.add(toNewItem(line.getItem(), user, requests));
+            } catch (ValidationException | ObjectNotFoundException e) {
+                results.add(ItemBulkResult.failed(line.getLine(), e.getMessage()));
+                continue;
+            }
+            ItemBulkResult result = ItemBulkResult.saved(line.getLine(), null);
+            results.add(result);
+            savedResults.add(result);
+        }
+        itemRepository.insertAll(items);
+        itemSummaryService.onItemsCreated(items);
+        for (int i = 0; i < items.size(); i++) {
+            savedResults.get(i).setId(items.get(i).getId());
+        }
+        return results;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEM_OWNERS, key = "#id")
     public ItemOutDto updateItem(ItemInDto itemDto, Long id, Long userId) {
         Item item = checkOwner(userId, id);
         if (itemDto.getName() != null) {
@@ -82,6 +137,10 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemOutDto getItemById(Long id, Long userId) {
         checkUser(userId);
+        Optional<ItemSummary> summary = itemSummaryRepository.findWithItemById(id);
+        if (summary.isPresent()) {
+            return toItemOutDto(summary.get(), userId);
+        }
         Item item = checkItem(id);
 
         ItemOutDto itemDto = ItemMapper.toItemOutDto(item);
@@ -92,25 +151,37 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public Collection<ItemOutDto> getAllByUserId(Long userId, Integer from, Integer size) {
         checkUser(userId);
-        PageRequest page = PageRequest.of(from / size, size);
+        PageRequest page = PageRequest.of(from / size, size, SORTED_BY_ID);
         List<ItemOutDto> items = itemRepository.findAllByOwner_Id(userId, page).getContent()
                 .stream()
-                .sorted(Comparator.comparing(Item::getId))
                 .map(ItemMapper::toItemOutDto)
                 .collect(Collectors.toList());
 
-        List<ItemOutDto> itemOut = new ArrayList<>();
-
-        for (ItemOutDto itemDto : items) {
-            itemOut.add(setCommentsAndBookings(userId, itemDto));
+        if (items.isEmpty()) {
+            return Collections.emptyList();
         }
-        return itemOut;
+
+        List<Long> itemIds = items.stream().map(ItemOutDto::getId).collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItem_IdIn(itemIds, SORTED)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        items.forEach(itemDto ->
+                itemDto.setComments(comments.getOrDefault(itemDto.getId(), Collections.emptyList())));
+
+        setLastAndNextBookings(items.stream()
+                .filter(itemDto -> userId.equals(itemDto.getOwner().getId()))
+                .collect(Collectors.toList()));
+        return items;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ITEM_OWNERS, key = "#itemId")
     public void deleteItem(Long userId, Long itemId) {
-        checkOwner(userId, itemId);
+        checkUser(userId);
+        checkItemOwner(userId, itemId);
         itemRepository.deleteById(itemId);
+        availabilityIndex.evictItem(itemId);
     }
 
     @Override
@@ -119,14 +190,14 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository
+        return itemSearch
                 .search(text, page)
-                .getContent()
                 .stream()
                 .map(ItemMapper::toItemOutDto).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(CommentDto commentDto, Long userId, Long itemId) {
         User user = checkUser(userId);
         Item item = checkItem(itemId);
@@ -135,22 +206,51 @@ public class ItemServiceImpl implements ItemService {
                         itemId, StatusEnum.APPROVED, LocalDateTime.now());
         if (!bookingList.isEmpty()) {
             Comment comment = CommentMapper.toComment(commentDto, user, item, LocalDateTime.now().plusSeconds(1));
-            return CommentMapper.toCommentDto(commentRepository.save(comment));
+            Comment saved = commentRepository.save(comment);
+            itemSummaryService.onCommentCreated(saved);
+            return CommentMapper.toCommentDto(saved);
         } else {
             throw new CommentAccessDeniedException("Вы не бронировали вещь. Оставить комментарий невозможно.");
         }
     }
 
+    /**
+     * Ответ собирается из карточки без запросов. Если следующее бронирование уже началось, а карточку
+     * ещё не пересчитали, последнее и следующее бронирования берутся запросом, как для списка вещей.
+     */
+    private ItemOutDto toItemOutDto(ItemSummary summary, Long userId) {
+        ItemOutDto itemDto = ItemMapper.toItemOutDto(summary.getItem());
+        ItemOutDto commentItem = ItemMapper.toItemOutDto(summary.getItem());
+        itemDto.setComments(summary.getComments().stream()
+                .map(comment -> CommentDto.builder()
+                        .id(comment.getId())
+                        .text(comment.getText())
+                        .item(commentItem)
+                        .authorName(comment.getAuthorName())
+                        .created(comment.getCreated())
+                        .build())
+                .collect(Collectors.toList()));
+        if (!userId.equals(itemDto.getOwner().getId())) {
+            return itemDto;
+        }
+        LocalDateTime nextStart = summary.getNextBookingStart();
+        if (nextStart != null && !nextStart.isAfter(LocalDateTime.now())) {
+            setLastAndNextBookings(List.of(itemDto));
+            return itemDto;
+        }
+        if (summary.getLastBooking() != null) {
+            itemDto.setLastBooking(BookingMapper.toBookingDto(summary.getLastBooking()));
+        }
+        if (summary.getNextBooking() != null) {
+            itemDto.setNextBooking(BookingMapper.toBookingDto(summary.getNextBooking()));
+        }
+        return itemDto;
+    }
+
     private ItemOutDto setCommentsAndBookings(Long userId, ItemOutDto itemDto) {
         itemDto.setComments(getComments(itemDto));
         if (userId.equals(itemDto.getOwner().getId())) {
-            List<BookingDto> lastAndNextBookings = getLastAndNextBooking(itemDto);
-            if (!lastAndNextBookings.isEmpty()) {
-                itemDto.setLastBooking(lastAndNextBookings.get(0));
-                if (!(lastAndNextBookings.size() == 1)) {
-                    itemDto.setNextBooking(lastAndNextBookings.get(1));
-                }
-            }
+            setLastAndNextBookings(List.of(itemDto));
         }
         return itemDto;
     }
@@ -168,32 +268,28 @@ public class ItemServiceImpl implements ItemService {
         return commentList;
     }
 
-    private List<BookingDto> getLastAndNextBooking(ItemOutDto item) {
-        List<Booking> lastAndNext = new ArrayList<>();
-        Booking next = null;
-        Booking last = null;
-        List<Booking> bookings = bookingRepository
-                .findAllByItem_IdAndStatusOrderByStartDesc(item.getId(), StatusEnum.APPROVED, StatusEnum.WAITING);
-
-        if (bookings.isEmpty()) {
-            return Collections.emptyList();
+    private void setLastAndNextBookings(List<ItemOutDto> items) {
+        if (items.isEmpty()) {
+            return;
         }
-
-        for (Booking booking : bookings) {
-            if (booking.getStart().isAfter(LocalDateTime.now())) {
-                next = booking;
-            }
-            if (booking.getStart().isBefore(LocalDateTime.now())) {
-                last = booking;
-                break;
-            }
+        LocalDateTime now = LocalDateTime.now();
+        if (availabilityIndex.isEnabled()) {
+            availabilityIndex.setLastAndNext(items, now);
+            return;
         }
+        Map<Long, ItemOutDto> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemOutDto::getId, itemDto -> itemDto));
+        List<Booking> lastAndNext = bookingRepository
+                .findLastAndNextByItemIds(itemsById.keySet(), LAST_AND_NEXT_STATUSES, now);
 
-        lastAndNext.add(last);
-        if (next != null) {
-            lastAndNext.add(next);
+        for (Booking booking : lastAndNext) {
+            ItemOutDto itemDto = itemsById.get(booking.getItem().getId());
+            if (booking.getStart().isBefore(now)) {
+                itemDto.setLastBooking(BookingMapper.toBookingDto(booking));
+            } else {
+                itemDto.setNextBooking(BookingMapper.toBookingDto(booking));
+            }
         }
-        return lastAndNext.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
     private Item checkOwner(Long userId, Long itemId) {
@@ -207,6 +303,53 @@ public class ItemServiceImpl implements ItemService {
         return item;
     }
 
+    private void checkItemOwner(Long userId, Long itemId) {
+        long ownerId = itemRepository.findOwnerIdById(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Вещь с id %d не найдена", itemId)));
+        if (ownerId != userId) {
+            throw new ObjectNotFoundException(
+                    String.format("У пользователя с id %d нет вещи с id %d", userId, itemId));
+        }
+    }
+
+    private Map<Long, ItemRequest> findRequests(List<ItemInDto> itemDtos) {
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemInDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return itemRequestRepository.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, itemRequest -> itemRequest));
+    }
+
+    private Item toNewItem(ItemInDto itemDto, User owner, Map<Long, ItemRequest> requests) {
+        Long requestId = itemDto.getRequestId();
+        if (requestId != null && !requests.containsKey(requestId)) {
+            throw new ObjectNotFoundException(String.format("Запрос с id %d не найден", requestId));
+        }
+        Item item = ItemMapper.toItem(itemDto, owner, requests.get(requestId));
+        item.setId(null);
+        return item;
+    }
+
+    private void checkNewItem(ItemInDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            throw new ValidationException("Название не может быть пустым");
+        }
+        if (itemDto.getName().length() > 100) {
+            throw new ValidationException("Длина названия должна быть не более 100 символов");
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            throw new ValidationException("Описание не может быть пустым");
+        }
+        if (itemDto.getDescription().length() > 500) {
+            throw new ValidationException("Длина описания должна быть не более 500 символов");
+        }
+        if (itemDto.getAvailable() == null) {
+            throw new ValidationException("Поле доступности вещи не может быть пустым");
+        }
+    }
+
     private User checkUser(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Пользователь с id %d не найден", userId)));
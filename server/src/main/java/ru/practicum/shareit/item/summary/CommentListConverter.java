@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.summary;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Список отзывов карточки хранится одной строкой JSON. Время отзыва пишется полностью, а не в формате
+ * ответа API до секунды: иначе прочитанная из базы карточка отличалась бы от записанной.
+ */
+@Converter
+public class CommentListConverter implements AttributeConverter<List<CommentDto>, String> {
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json()
+            .mixIn(CommentDto.class, StoredComment.class)
+            .build();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(MAPPER.getTypeFactory()
+            .constructCollectionType(List.class, CommentDto.class));
+    private static final ObjectReader READER = MAPPER.readerFor(MAPPER.getTypeFactory()
+            .constructCollectionType(List.class, CommentDto.class));
+
+    @Override
+    public String convertToDatabaseColumn(List<CommentDto> comments) {
+        try {
+            return WRITER.writeValueAsString(comments != null ? comments : List.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось записать отзывы карточки вещи", e);
+        }
+    }
+
+    @Override
+    public List<CommentDto> convertToEntityAttribute(String json) {
+        try {
+            return READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось прочитать отзывы карточки вещи", e);
+        }
+    }
+
+    private abstract static class StoredComment {
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private LocalDateTime created;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Карточка вещи для чтения по id: отзывы, уже приведённые к ответу, и текущие последнее и следующее
+ * бронирования. Обновляется при изменениях отзывов и бронирований вещи, см. {@link ItemSummaryService}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "ITEM_SUMMARY", schema = "PUBLIC")
+public class ItemSummary {
+    @Id
+    @Column(name = "ITEM_ID")
+    private Long itemId;
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ITEM_ID", insertable = false, updatable = false)
+    @ToString.Exclude
+    private Item item;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "LAST_BOOKING_ID")
+    @ToString.Exclude
+    private Booking lastBooking;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "NEXT_BOOKING_ID")
+    @ToString.Exclude
+    private Booking nextBooking;
+    /**
+     * Начало следующего бронирования: когда оно наступит, карточку нужно пересчитать.
+     */
+    @Column(name = "NEXT_BOOKING_START")
+    private LocalDateTime nextBookingStart;
+    /**
+     * Отзывы от новых к старым, без вложенной вещи.
+     */
+    @Convert(converter = CommentListConverter.class)
+    @Column(name = "COMMENTS", nullable = false)
+    @ToString.Exclude
+    private List<CommentDto> comments;
+}
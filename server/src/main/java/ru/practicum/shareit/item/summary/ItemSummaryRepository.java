@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.batch.BatchInsertRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long>, BatchInsertRepository<ItemSummary> {
+
+    /**
+     * Карточка вместе с вещью, её владельцем и бронированиями одним запросом по ключу.
+     */
+    @Query("select s from ItemSummary s join fetch s.item i join fetch i.owner " +
+            "left join fetch s.lastBooking left join fetch s.nextBooking where s.itemId = ?1")
+    Optional<ItemSummary> findWithItemById(Long itemId);
+
+    /**
+     * Карточка под блокировкой строки: изменения карточки одной вещи применяются по очереди,
+     * и каждое видит уже зафиксированные предыдущие.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.itemId = ?1")
+    Optional<ItemSummary> findByIdForUpdate(Long itemId);
+
+    @Query("select s.itemId from ItemSummary s where s.nextBookingStart <= ?1")
+    List<Long> findItemIdsByNextBookingStartNotAfter(LocalDateTime now);
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Пересчитывает карточки, у которых наступило начало следующего бронирования: оно становится последним.
+ * До пересчёта такие карточки при чтении дополняются запросом к бронированиям, поэтому период
+ * {@code shareit.items.summary.refresh-delay} влияет только на долю чтений без этого запроса.
+ */
+@Slf4j
+@AllArgsConstructor
+@Component
+public class ItemSummaryScheduler {
+    private final ItemSummaryRepository summaryRepository;
+    private final ItemSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.items.summary.refresh-delay:60000}")
+    public void refreshStartedBookings() {
+        List<Long> itemIds = summaryRepository.findItemIdsByNextBookingStartNotAfter(LocalDateTime.now());
+        itemIds.forEach(summaryService::refreshBookings);
+        if (!itemIds.isEmpty()) {
+            log.debug("Пересчитано карточек вещей: {}", itemIds.size());
+        }
+    }
+}
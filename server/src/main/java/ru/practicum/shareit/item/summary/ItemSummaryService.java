@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Ведёт карточки вещей. Карточка создаётся вместе с вещью и меняется только при событиях своей вещи:
+ * новый отзыв добавляется в список, а последнее и следующее бронирования пересчитываются одним запросом
+ * при создании, подтверждении, отклонении и импорте бронирований, а также когда наступает начало
+ * следующего бронирования ({@link ItemSummaryScheduler}). Отзывы и бронирования удалённого пользователя
+ * удаляются каскадом в базе, поэтому карточки затронутых вещей пересобираются целиком ({@link #rebuild});
+ * так же пересобираются карточки вещей с отзывами пользователя, сменившего имя.
+ * Все изменения идут в транзакции вызывающего под блокировкой строки карточки.
+ */
+@AllArgsConstructor
+@Service
+public class ItemSummaryService {
+    private static final List<String> LAST_AND_NEXT_STATUSES =
+            List.of(StatusEnum.APPROVED.name(), StatusEnum.WAITING.name());
+    private static final Comparator<CommentDto> NEWEST_FIRST =
+            Comparator.comparing(CommentDto::getCreated).reversed();
+    private static final Sort NEWEST_FIRST_SORT = Sort.by(Sort.Direction.DESC, "created");
+
+    private final ItemSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    public void onItemsCreated(List<Item> items) {
+        summaryRepository.insertAll(items.stream()
+                .map(item -> ItemSummary.builder()
+                        .itemId(item.getId())
+                        .comments(List.of())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    public void onCommentCreated(Comment comment) {
+        summaryRepository.findByIdForUpdate(comment.getItem().getId()).ifPresent(summary -> {
+            List<CommentDto> comments = new ArrayList<>(summary.getComments().size() + 1);
+            comments.add(toSummaryComment(comment));
+            comments.addAll(summary.getComments());
+            comments.sort(NEWEST_FIRST);
+            summary.setComments(comments);
+        });
+    }
+
+    /**
+     * Карточки блокируются в порядке id вещей, чтобы параллельные пересчёты не ждали друг друга по кругу.
+     */
+    public void onBookingsChanged(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long itemId : new TreeSet<>(itemIds)) {
+            summaryRepository.findByIdForUpdate(itemId).ifPresent(summary -> setLastAndNext(summary, now));
+        }
+    }
+
+    @Transactional
+    public void refreshBookings(Long itemId) {
+        onBookingsChanged(List.of(itemId));
+    }
+
+    /**
+     * Вещи, чьи карточки изменятся при удалении пользователя: он оставлял на них отзывы или бронировал их.
+     */
+    public Set<Long> itemsAffectedByUser(Long userId) {
+        Set<Long> itemIds = new HashSet<>(commentRepository.findItemIdsByUserId(userId));
+        itemIds.addAll(bookingRepository.findItemIdsByBookerId(userId));
+        return itemIds;
+    }
+
+    /**
+     * Имя автора хранится в отзывах карточки, поэтому после переименования карточки с его отзывами
+     * пересобираются.
+     */
+    public void onUserRenamed(Long userId) {
+        rebuild(commentRepository.findItemIdsByUserId(userId));
+    }
+
+    /**
+     * Собирает карточки заново из отзывов и бронирований в базе. Удаление, после которого вызывается
+     * пересборка, должно быть уже отправлено в базу. Бронирования пересчитываются первыми: карточка,
+     * загруженная до удаления, ещё ссылается на удалённые бронирования и не должна попасть в базу такой.
+     */
+    public void rebuild(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long itemId : new TreeSet<>(itemIds)) {
+            summaryRepository.findByIdForUpdate(itemId).ifPresent(summary -> {
+                setLastAndNext(summary, now);
+                summary.setComments(commentRepository.findAllByItem_Id(itemId, NEWEST_FIRST_SORT).stream()
+                        .map(ItemSummaryService::toSummaryComment)
+                        .collect(Collectors.toList()));
+            });
+        }
+    }
+
+    private void setLastAndNext(ItemSummary summary, LocalDateTime now) {
+        summary.setLastBooking(null);
+        summary.setNextBooking(null);
+        summary.setNextBookingStart(null);
+        List<Booking> lastAndNext = bookingRepository.findLastAndNextByItemIds(List.of(summary.getItemId()),
+                LAST_AND_NEXT_STATUSES, now);
+        for (Booking booking : lastAndNext) {
+            if (booking.getStart().isBefore(now)) {
+                summary.setLastBooking(booking);
+            } else {
+                summary.setNextBooking(booking);
+                summary.setNextBookingStart(booking.getStart());
+            }
+        }
+    }
+
+    private static CommentDto toSummaryComment(Comment comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getUser().getName())
+                .created(comment.getCreated())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL, которые готовит Hibernate: общий счётчик {@code shareit.jpa.statements} и счётчик
+ * текущего HTTP-запроса, если {@link StatementCountFilter} его открыл в этом потоке.
+ */
+public class JpaStatementCounter implements StatementInspector {
+    static final String COUNTER = "shareit.jpa.statements";
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private final Counter statements;
+
+    public JpaStatementCounter(MeterRegistry meterRegistry) {
+        this.statements = Counter.builder(COUNTER)
+                .description("SQL, подготовленные Hibernate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.increment();
+        RequestStatements current = CURRENT.get();
+        if (current != null) {
+            current.add(sql);
+        }
+        return sql;
+    }
+
+    static void start() {
+        CURRENT.set(new RequestStatements());
+    }
+
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Закрывает счётчик запроса в этом потоке и возвращает SQL, выполненные за запрос.
+     */
+    static RequestStatements finish() {
+        RequestStatements current = CURRENT.get();
+        CURRENT.remove();
+        return current != null ? current : new RequestStatements();
+    }
+}
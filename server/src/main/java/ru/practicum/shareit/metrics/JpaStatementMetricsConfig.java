@@ -0,0 +1,35 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Подключает {@link JpaStatementCounter} к Hibernate и фильтр, относящий SQL к HTTP-запросам и проверяющий
+ * их бюджет: {@code shareit.sql.statement-budget.default} для обработчиков без {@link StatementBudget},
+ * {@code shareit.sql.statement-budget.strict} превращает превышение в ошибку (включено в тестах).
+ */
+@Configuration(proxyBeanMethods = false)
+public class JpaStatementMetricsConfig {
+
+    @Bean
+    public JpaStatementCounter jpaStatementCounter(MeterRegistry meterRegistry) {
+        return new JpaStatementCounter(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jpaStatementCounterCustomizer(JpaStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.sql.statement-budget.default:20}") int defaultBudget,
+            @Value("${shareit.sql.statement-budget.strict:false}") boolean strict) {
+        return new StatementCountFilter(meterRegistry, defaultBudget, strict);
+    }
+}
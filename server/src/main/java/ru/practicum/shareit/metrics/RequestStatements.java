@@ -0,0 +1,48 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL одного HTTP-запроса: общее число и число повторов каждого отпечатка. Отпечаток — текст SQL
+ * со свёрнутыми пробелами и списками параметров {@code in (?, ?, ...)}, так что одинаковые запросы
+ * с разными значениями совпадают, а повторяющийся отпечаток указывает на N+1.
+ */
+public class RequestStatements {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+    private static final int MAX_FINGERPRINT_LENGTH = 300;
+
+    private final Map<String, Integer> fingerprints = new LinkedHashMap<>();
+    private int count;
+
+    void add(String sql) {
+        count++;
+        fingerprints.merge(fingerprint(sql), 1, Integer::sum);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Отпечатки по убыванию числа повторов, не больше limit.
+     */
+    public List<Map.Entry<String, Integer>> top(int limit) {
+        return fingerprints.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    static String fingerprint(String sql) {
+        String fingerprint = PARAMETER_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?...)");
+        return fingerprint.length() > MAX_FINGERPRINT_LENGTH
+                ? fingerprint.substring(0, MAX_FINGERPRINT_LENGTH) + "..."
+                : fingerprint;
+    }
+}
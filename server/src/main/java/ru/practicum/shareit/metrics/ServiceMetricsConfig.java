@@ -0,0 +1,56 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Таймеры и спаны {@code shareit.service} на методах сервисов. Советник инфраструктурный, поэтому его подхватывает
+ * тот же прокси, что и {@code @Transactional}, а порядок снаружи транзакции включает в замер её фиксацию.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ServiceMetricsConfig {
+    static final List<Class<?>> SERVICES = List.of(BookingService.class, ItemService.class,
+            ItemRequestService.class, UserService.class);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return service(method, targetClass) != null;
+            }
+        }, new ServiceMetricsInterceptor(observationRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Интерфейс сервиса, объявляющий метод, или null, если метод не относится к сервисам.
+     */
+    static Class<?> service(Method method, Class<?> targetClass) {
+        for (Class<?> service : SERVICES) {
+            if (service.isAssignableFrom(targetClass)
+                    && ClassUtils.hasMethod(service, method.getName(), method.getParameterTypes())) {
+                return service;
+            }
+        }
+        return null;
+    }
+}
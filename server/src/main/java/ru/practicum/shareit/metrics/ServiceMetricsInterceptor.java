@@ -0,0 +1,95 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.enums.StateEnum;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Наблюдает вызов метода сервиса: таймер {@code shareit.service} и, при включённой трассировке, спан
+ * {@code сервис.метод} (например, {@code booking-service.find-all-for-user}) внутри спана HTTP-запроса.
+ * Метки: {@code service}, {@code method}, {@code outcome} ({@code success} или класс исключения) и {@code state} —
+ * значение параметра {@code state} списков бронирований, приведённое к {@link StateEnum} ({@code UNKNOWN}
+ * для неизвестных), у остальных методов {@code none}.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    static final String TIMER = "shareit.service";
+    private static final String NO_STATE = "none";
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final ObjectProvider<ObservationRegistry> observationRegistryProvider;
+    private final Map<Method, Target> targets = new ConcurrentHashMap<>();
+    private ObservationRegistry observationRegistry;
+
+    public ServiceMetricsInterceptor(ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        this.observationRegistryProvider = observationRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Target target = targets.computeIfAbsent(invocation.getMethod(),
+                method -> Target.of(method, ClassUtils.getUserClass(invocation.getThis())));
+        Observation observation = Observation.createNotStarted(TIMER, registry())
+                .contextualName(target.service + "." + target.method)
+                .lowCardinalityKeyValue("service", target.service)
+                .lowCardinalityKeyValue("method", target.method)
+                .lowCardinalityKeyValue("state", target.state(invocation.getArguments()))
+                .start();
+        String outcome = "success";
+        try (Observation.Scope ignored = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+
+    private ObservationRegistry registry() {
+        if (observationRegistry == null) {
+            observationRegistry = observationRegistryProvider.getObject();
+        }
+        return observationRegistry;
+    }
+
+    private static final class Target {
+        private final String service;
+        private final String method;
+        private final int stateIndex;
+
+        private Target(String service, String method, int stateIndex) {
+            this.service = service;
+            this.method = method;
+            this.stateIndex = stateIndex;
+        }
+
+        private static Target of(Method method, Class<?> targetClass) {
+            Class<?> service = ServiceMetricsConfig.service(method, targetClass);
+            String[] names = PARAMETER_NAMES.getParameterNames(method);
+            int stateIndex = names == null ? -1 : Arrays.asList(names).indexOf("state");
+            return new Target(service != null ? service.getSimpleName() : targetClass.getSimpleName(),
+                    method.getName(), stateIndex);
+        }
+
+        private String state(Object[] arguments) {
+            if (stateIndex < 0) {
+                return NO_STATE;
+            }
+            return arguments[stateIndex] instanceof String state
+                    ? StateEnum.from(state).map(Enum::name).orElse("UNKNOWN")
+                    : "UNKNOWN";
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Сколько SQL может выполнить обработчик за один запрос. Без аннотации действует
+ * {@code shareit.sql.statement-budget.default}; превышение проверяет {@link StatementCountFilter}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+    int value();
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Обработчик превысил бюджет SQL в строгом режиме ({@code shareit.sql.statement-budget.strict=true}, в тестах).
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Добавляет к ответу заголовок {@value #HEADER} с числом SQL, выполненных до записи тела.
+ * Работает, только если запрос прошёл через {@link StatementCountFilter}.
+ */
+@ControllerAdvice
+public class StatementCountAdvice implements ResponseBodyAdvice<Object> {
+    public static final String HEADER = "X-Sql-Statement-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestStatements statements = JpaStatementCounter.current();
+        if (statements != null) {
+            response.getHeaders().set(HEADER, String.valueOf(statements.getCount()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Пишет число SQL за HTTP-запрос в {@code shareit.http.server.statements} с метками метода и шаблона
+ * адреса, как у {@code http.server.requests}. Потоковые ответы считаются только до начала асинхронной отдачи.
+ * Если обработчик выполнил больше SQL, чем разрешает его {@link StatementBudget} (или бюджет по умолчанию),
+ * в лог пишется предупреждение с самыми частыми отпечатками SQL, а в строгом режиме бросается
+ * {@link StatementBudgetExceededException}, чтобы тест на такой адрес упал.
+ */
+@Slf4j
+public class StatementCountFilter extends OncePerRequestFilter {
+    static final String SUMMARY = "shareit.http.server.statements";
+    static final String EXCEEDED = "shareit.http.server.statement.budget.exceeded";
+    private static final int LOGGED_FINGERPRINTS = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final boolean strict;
+
+    public StatementCountFilter(MeterRegistry meterRegistry, int defaultBudget, boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements;
+        String uri;
+        JpaStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statements = JpaStatementCounter.finish();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(SUMMARY)
+                    .description("SQL за один HTTP-запрос")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.getCount());
+        }
+        checkBudget(request, uri, statements);
+    }
+
+    private void checkBudget(HttpServletRequest request, String uri, RequestStatements statements) {
+        int budget = budget(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        if (statements.getCount() <= budget) {
+            return;
+        }
+        meterRegistry.counter(EXCEEDED, "method", request.getMethod(), "uri", uri).increment();
+        String message = String.format("%s %s выполнил %d SQL при бюджете %d. Частые: %s", request.getMethod(), uri,
+                statements.getCount(), budget, statements.top(LOGGED_FINGERPRINTS).stream()
+                        .map(this::describe)
+                        .collect(Collectors.joining("; ")));
+        log.warn(message);
+        if (strict) {
+            throw new StatementBudgetExceededException(message);
+        }
+    }
+
+    private int budget(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), StatementBudget.class);
+            }
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+
+    private String describe(Map.Entry<String, Integer> fingerprint) {
+        return fingerprint.getValue() > 1
+                ? fingerprint.getValue() + " × " + fingerprint.getKey() + " (N+1?)"
+                : fingerprint.getKey();
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.metrics.StatementBudget;
 import ru.practicum.shareit.request.dto.ItemRequestInDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutCreatedDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
@@ -24,11 +25,13 @@ public class ItemRequestController {
     }
 
     @GetMapping
+    @StatementBudget(4)
     public List<ItemRequestOutDto> getUsersRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestService.getAllUsersRequests(userId);
     }
 
     @GetMapping("/all")
+    @StatementBudget(4)
     public List<ItemRequestOutDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                   @RequestParam(defaultValue = "0") Integer from,
                                                   @RequestParam(defaultValue = "10") Integer size) {
@@ -36,6 +39,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
+    @StatementBudget(4)
     public ItemRequestOutDto getOneRequest(@PathVariable Long requestId,
                                            @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestService.getOneRequest(requestId, userId);
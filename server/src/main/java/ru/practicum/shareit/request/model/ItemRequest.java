@@ -1,10 +1,10 @@
 package ru.practicum.shareit.request.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
 import lombok.*;
 import ru.practicum.shareit.user.model.User;
 
-import javax.persistence.*;
 import java.time.LocalDateTime;
 
 /**
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 @Table(name = "REQUESTS", schema = "PUBLIC")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "REQUESTS_SEQ", allocationSize = 50)
     private Long id;
     @Column(name = "DESCRIPTION")
     private String description;
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -11,5 +11,5 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequester_Id(Long requesterId);
 
-    Page<ItemRequest> findByRequesterIdNot(Long userId, Pageable page);
+    Slice<ItemRequest> findByRequesterIdNot(Long userId, Pageable page);
 }
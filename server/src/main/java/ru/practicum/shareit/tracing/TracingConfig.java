@@ -0,0 +1,41 @@
+package ru.practicum.shareit.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Трассировка сервера. Спаны HTTP-запросов создаёт Spring MVC, спаны сервисов — наблюдения
+ * {@code shareit.service}, а здесь добавляются спаны JDBC: получение соединения и каждый SQL
+ * (текст без значений параметров). Спаны выгружаются в файл в формате OTLP JSON: экспортёр пишет пакеты
+ * в журнал {@code io.opentelemetry.exporter.logging.otlp}, а logback направляет его в
+ * {@code shareit.tracing.otlp-file.path}. Доля записываемых трасс — {@code management.tracing.sampling.probability},
+ * для запросов из шлюза решение о записи приходит вместе с контекстом трассы.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnEnabledTracing
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.otlp-file.enabled", matchIfMissing = true)
+    public SpanExporter otlpFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    @Bean
+    public DataSourceObservationListener dataSourceObservationListener(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        DataSourceObservationListener listener = new DataSourceObservationListener(observationRegistry::getObject);
+        listener.setSupportedTypes(Set.of(JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+        return listener;
+    }
+}
@@ -1,9 +1,8 @@
 package ru.practicum.shareit.user.model;
 
+import jakarta.persistence.*;
 import lombok.*;
 
-import javax.persistence.*;
-
 
 /**
  * TODO Sprint add-controllers.
@@ -19,7 +18,8 @@ import javax.persistence.*;
 @Table(name = "USERS", schema = "PUBLIC")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "USERS_SEQ", allocationSize = 50)
     private Long id;
     @Column(name = "name", nullable = false)
     private String name;
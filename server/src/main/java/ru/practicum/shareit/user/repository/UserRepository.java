@@ -1,9 +1,21 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Найденный пользователь попадает в кэш {@link CacheConfig#USERS} и разделяется между запросами:
+     * его нельзя изменять, правки применяются к копии.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#p0", unless = "#result == null")
+    Optional<User> findById(Long id);
+
     User findUserByEmail(String email);
 }
@@ -1,18 +1,25 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.exceptions.ObjectAlreadyExistsException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.validation.ValidationException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +27,8 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemSummaryService itemSummaryService;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -49,16 +58,41 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Вместе с пользователем удаляются его вещи, поэтому кэш владельцев вещей сбрасывается целиком.
+     * Его отзывы и бронирования удаляются каскадом в базе, поэтому карточки вещей, которых они касались,
+     * пересобираются в той же транзакции после удаления.
+     */
     @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ITEM_OWNERS, allEntries = true)
+    })
     public void deleteUser(Long id) {
+        Set<Long> itemIds = itemSummaryService.itemsAffectedByUser(id);
         userRepository.deleteById(id);
+        userRepository.flush();
+        itemSummaryService.rebuild(itemIds);
+        availabilityIndex.evictAll();
     }
 
+    /**
+     * Имя автора хранится в отзывах карточек вещей, поэтому после переименования карточки
+     * с отзывами пользователя пересобираются в той же транзакции.
+     */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto patchUser(Long id, UserDto userDto) {
         Optional<User> userOptional = userRepository.findById(id);
         if (userOptional.isPresent()) {
-            User userToPatch = userOptional.get();
+            User user = userOptional.get();
+            User userToPatch = User.builder()
+                    .id(user.getId())
+                    .name(user.getName())
+                    .email(user.getEmail())
+                    .build();
 
             if (userDto.getName() != null && !userDto.getName().isBlank()) {
                 userToPatch.setName(userDto.getName());
@@ -81,7 +115,12 @@ public class UserServiceImpl implements UserService {
                 }
                 userToPatch.setEmail(userDto.getEmail());
             }
-            return UserMapper.toUserDto(userRepository.save(userToPatch));
+            boolean renamed = !userToPatch.getName().equals(user.getName());
+            User saved = userRepository.save(userToPatch);
+            if (renamed) {
+                itemSummaryService.onUserRenamed(id);
+            }
+            return UserMapper.toUserDto(saved);
         } else {
             throw new ObjectNotFoundException(String.format("Пользователь с айди %d не найден.", id));
         }
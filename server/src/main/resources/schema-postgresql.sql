@@ -0,0 +1,13 @@
+-- Триграммные индексы для поиска вещей по подстроке (ItemRepository.search)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ITEMS_NAME_TRGM_IDX ON ITEMS USING gin (lower(NAME) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ITEMS_DESCRIPTION_TRGM_IDX ON ITEMS USING gin (lower(DESCRIPTION) gin_trgm_ops);
+
+-- Подтверждённые бронирования одной вещи не могут пересекаться по времени
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE BOOKINGS
+    ADD CONSTRAINT BOOKINGS_APPROVED_NO_OVERLAP
+        EXCLUDE USING gist (ITEM_ID WITH =, tsrange(START_DATE, END_DATE, '[]') WITH &&)
+        WHERE (STATUS = 'APPROVED');
@@ -1,15 +1,27 @@
-DROP TABLE IF EXISTS USERS, REQUESTS, ITEMS, BOOKINGS, COMMENTS CASCADE;
+DROP TABLE IF EXISTS USERS, REQUESTS, ITEMS, BOOKINGS, COMMENTS, ITEM_SUMMARY CASCADE;
+DROP SEQUENCE IF EXISTS USERS_SEQ;
+DROP SEQUENCE IF EXISTS REQUESTS_SEQ;
+DROP SEQUENCE IF EXISTS ITEMS_SEQ;
+DROP SEQUENCE IF EXISTS BOOKINGS_SEQ;
+DROP SEQUENCE IF EXISTS COMMENTS_SEQ;
+
+-- Ключи выдаются блоками по 50 (pooled-lo), чтобы Hibernate мог отправлять INSERT пакетами
+CREATE SEQUENCE IF NOT EXISTS USERS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS REQUESTS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ITEMS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS BOOKINGS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS COMMENTS_SEQ START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS USERS
 (
-    ID    bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID    bigint PRIMARY KEY,
     EMAIL varchar(100) UNIQUE NOT NULL,
     NAME  varchar(50)         NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS REQUESTS
 (
-    ID           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID           bigint PRIMARY KEY,
     DESCRIPTION  varchar(250)                not null,
     REQUESTER_ID bigint                      not null REFERENCES USERS (ID) on delete cascade,
     CREATED      timestamp without time zone not null
@@ -17,7 +29,7 @@ CREATE TABLE IF NOT EXISTS REQUESTS
 
 CREATE TABLE IF NOT EXISTS ITEMS
 (
-    ID           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID           bigint PRIMARY KEY,
     NAME         varchar(100) not null,
     DESCRIPTION  varchar(500) not null,
     IS_AVAILABLE boolean      not null,
@@ -27,7 +39,7 @@ CREATE TABLE IF NOT EXISTS ITEMS
 
 CREATE TABLE IF NOT EXISTS BOOKINGS
 (
-    ID         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID         bigint PRIMARY KEY,
     START_DATE timestamp without time zone not null,
     END_DATE   timestamp without time zone not null,
     ITEM_ID    bigint                      not null REFERENCES ITEMS (ID) on delete cascade,
@@ -38,9 +50,28 @@ CREATE TABLE IF NOT EXISTS BOOKINGS
 
 CREATE TABLE IF NOT EXISTS COMMENTS
 (
-    ID        bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ID        bigint PRIMARY KEY,
     TEXT      varchar(500)                not null,
     ITEM_ID   bigint                      not null REFERENCES ITEMS (ID) on delete cascade,
     AUTHOR_ID bigint                      not null REFERENCES USERS (ID) on delete cascade,
     CREATED   timestamp without time zone not null
 );
+
+-- Готовая карточка вещи для GET /items/{id}: отзывы в JSON и текущие последнее/следующее бронирования
+CREATE TABLE IF NOT EXISTS ITEM_SUMMARY
+(
+    ITEM_ID            bigint PRIMARY KEY REFERENCES ITEMS (ID) on delete cascade,
+    LAST_BOOKING_ID    bigint REFERENCES BOOKINGS (ID) on delete set null,
+    NEXT_BOOKING_ID    bigint REFERENCES BOOKINGS (ID) on delete set null,
+    NEXT_BOOKING_START timestamp without time zone,
+    COMMENTS           text not null
+);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_ID_START_DATE_IDX ON BOOKINGS (BOOKER_ID, START_DATE DESC);
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX ON BOOKINGS (ITEM_ID, STATUS, START_DATE);
+CREATE INDEX IF NOT EXISTS ITEMS_OWNER_ID_ID_IDX ON ITEMS (OWNER_ID, ID);
+CREATE INDEX IF NOT EXISTS ITEMS_REQUEST_ID_IDX ON ITEMS (REQUEST_ID);
+CREATE INDEX IF NOT EXISTS COMMENTS_ITEM_ID_CREATED_IDX ON COMMENTS (ITEM_ID, CREATED DESC);
+CREATE INDEX IF NOT EXISTS COMMENTS_AUTHOR_ID_IDX ON COMMENTS (AUTHOR_ID);
+CREATE INDEX IF NOT EXISTS REQUESTS_REQUESTER_ID_CREATED_IDX ON REQUESTS (REQUESTER_ID, CREATED DESC);
+CREATE INDEX IF NOT EXISTS ITEM_SUMMARY_NEXT_BOOKING_START_IDX ON ITEM_SUMMARY (NEXT_BOOKING_START);
@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Число SQL, подготовленных Hibernate за действие. Подключается в тест через {@code @Import(StatementCounter.class)},
+ * тесту нужна {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+@RequiredArgsConstructor
+public class StatementCounter {
+    private final EntityManager em;
+    private final CacheManager cacheManager;
+
+    /**
+     * Сколько SQL выполнило действие; контекст сохранения и кэши остаются как есть.
+     */
+    public long count(Runnable action) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    /**
+     * Сколько SQL выполнило действие с пустыми контекстом сохранения и кэшами, как первый запрос после старта:
+     * так число запросов не зависит от того, что тест уже прочитал.
+     */
+    public long countCold(Runnable action) {
+        em.clear();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        return count(action);
+    }
+}
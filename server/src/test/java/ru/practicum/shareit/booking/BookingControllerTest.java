@@ -1,14 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.enums.StatusEnum;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
@@ -16,7 +20,7 @@ import ru.practicum.shareit.exceptions.UnknownStateException;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
-import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
@@ -24,10 +28,17 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -44,6 +55,9 @@ public class BookingControllerTest {
     @MockBean
     BookingService service;
 
+    @MockBean
+    BookingExporter exporter;
+
     @Autowired
     private MockMvc mvc;
 
@@ -281,4 +295,65 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.description", containsString(error), String.class));
     }
+
+    @Test
+    @Order(7)
+    void shouldFindAllForUserAfterCursor() throws Exception {
+        bookingOutDto = builderOut.build();
+        BookingCursor cursor = BookingCursor.of(bookingOutDto);
+        when(service.findAllForUser(eq(1L), eq("ALL"), any(BookingCursor.class), eq(1)))
+                .thenReturn(List.of(bookingOutDto));
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("after", cursor.toString())
+                        .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, cursor.toString()));
+        verify(service).findAllForUser(eq(1L), eq("ALL"), argThat((BookingCursor after) ->
+                after.getStart().equals(cursor.getStart()) && after.getId().equals(cursor.getId())), eq(1));
+
+        when(service.findAllForOwner(eq(1L), eq("ALL"), any(BookingCursor.class), eq(2)))
+                .thenReturn(List.of(bookingOutDto));
+        mvc.perform(get(URL + "/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("after", cursor.toString())
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+
+        mvc.perform(get(URL)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("after", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.description", containsString("Некорректный курсор"), String.class));
+    }
+
+    @Test
+    @Order(8)
+    void shouldExportAsNdjson() throws Exception {
+        String ndjson = "{\"id\":1}\n{\"id\":2}\n";
+        when(exporter.exportForOwner(1L)).thenReturn(out -> out.write(ndjson.getBytes(StandardCharsets.UTF_8)));
+        MvcResult result = mvc.perform(get(URL + "/owner/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+
+        String error = "Пользователь с id 99 не найден";
+        when(exporter.exportForBooker(99L)).thenThrow(new ObjectNotFoundException(error));
+        mvc.perform(get(URL + "/export")
+                        .header("X-Sharer-User-Id", 99))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.description", is(error), String.class));
+    }
 }
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Выгрузка отдаёт всю историю, длиннее одной порции курсора, в том же порядке, что и постраничные списки.
+ */
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingExporterITTest {
+    private final EntityManager em;
+    private final BookingExporter exporter;
+    private final ObjectMapper mapper;
+
+    @Test
+    void shouldExportWholeHistoryForOwnerAndBooker() throws IOException {
+        User owner = makeUser("owner", "owner@export.ru");
+        User booker = makeUser("booker", "booker@export.ru");
+        User other = makeUser("other", "other@export.ru");
+        em.persist(owner);
+        em.persist(booker);
+        em.persist(other);
+        Item item = makeAvailableItem(owner);
+        em.persist(item);
+
+        int count = BookingRepository.EXPORT_FETCH_SIZE * 2 + 10;
+        LocalDateTime start = LocalDateTime.now().minusYears(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Booking booking = makeBooking(start.plusHours(i), item, i % 2 == 0 ? booker : other);
+            em.persist(booking);
+            bookings.add(booking);
+        }
+        em.flush();
+
+        List<BookingOutDto> exported = export(exporter.exportForOwner(owner.getId()));
+
+        assertThat(exported, hasSize(count));
+        assertThat(exported.stream().map(BookingOutDto::getId).toList(), equalTo(bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).reversed())
+                .map(Booking::getId)
+                .toList()));
+        assertThat(exported, everyItem(hasProperty("item", hasProperty("id", equalTo(item.getId())))));
+
+        List<BookingOutDto> exportedForBooker = export(exporter.exportForBooker(booker.getId()));
+
+        assertThat(exportedForBooker, hasSize(count / 2));
+        assertThat(exportedForBooker, everyItem(hasProperty("booker", hasProperty("id", equalTo(booker.getId())))));
+    }
+
+    @Test
+    void shouldRejectUnknownUserBeforeStreaming() {
+        assertThrows(ObjectNotFoundException.class, () -> exporter.exportForBooker(-1L));
+        assertThrows(ObjectNotFoundException.class, () -> exporter.exportForOwner(-1L));
+    }
+
+    private List<BookingOutDto> export(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        List<BookingOutDto> bookings = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            bookings.add(mapper.readValue(line, BookingOutDto.class));
+        }
+        return bookings;
+    }
+
+    private Booking makeBooking(LocalDateTime start, Item item, User booker) {
+        return Booking.builder()
+                .start(start)
+                .end(start.plusMinutes(30))
+                .item(item)
+                .booker(booker)
+                .status(StatusEnum.APPROVED)
+                .build();
+    }
+
+    private User makeUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+
+    private Item makeAvailableItem(User owner) {
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+}
@@ -1,24 +1,27 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.TypedQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.StateEnum;
 import ru.practicum.shareit.enums.StatusEnum;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class BookingRepositoryTest {
@@ -113,36 +116,113 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void testFindAllByItemOwnerId() {
-        int pageNum = 0;
-        int size = 1;
-        PageRequest page = PageRequest.of(pageNum, size);
+    void testFindSliceByOwnerAndState() {
+        LocalDateTime now = LocalDateTime.now();
+        Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+        User booker = booking.getBooker();
+        Long ownerId = item.getOwner().getId();
+        Booking past = saveBooking(item, booker, now.minusDays(2), StatusEnum.APPROVED);
+        Booking current = saveBooking(item, booker, now.minusMinutes(30), StatusEnum.APPROVED);
+        Booking rejected = saveBooking(item, booker, now.plusDays(1), StatusEnum.REJECTED);
+        Booking waiting = saveBooking(item, booker, now.plusDays(2), StatusEnum.WAITING);
 
         //пустой список
-        TypedQuery<Booking> query = em.getEntityManager()
-                .createQuery("select b from Booking b " +
-                        "where b.item.owner.id = :id ", Booking.class);
-        List<Booking> bookings = query
-                .setParameter("id", 99L)
-                .getResultList();
-        assertNotNull(bookings);
-        assertEquals(0, bookings.size());
-        List<Booking> bookingsFound = bookingRepository.findAllByItemOwner(99L, page).getContent();
+        List<Booking> bookingsFound = bookingRepository.findSlice(BookingSpecifications.byItemOwner(99L),
+                sort, 0, 10);
         assertNotNull(bookingsFound);
         assertEquals(0, bookingsFound.size());
 
-        //список из одного элемента
-        query = em.getEntityManager()
-                .createQuery("select b from Booking b " +
-                        "where b.item.owner.id = :id ", Booking.class);
-        bookings = query
-                .setParameter("id", item.getOwner().getId())
-                .getResultList();
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        bookingsFound = bookingRepository.findAllByItemOwner(item.getOwner().getId(), page).getContent();
+        //все бронирования по убыванию начала
+        assertEquals(List.of(waiting.getId(), rejected.getId(), booking.getId(), current.getId(), past.getId()),
+                findIds(BookingSpecifications.byItemOwner(ownerId), sort, 0, 10));
+        assertEquals(List.of(rejected.getId(), booking.getId()),
+                findIds(BookingSpecifications.byItemOwner(ownerId), sort, 1, 2));
+
+        //по состоянию
+        assertEquals(List.of(past.getId()), findIds(BookingSpecifications.byItemOwner(ownerId)
+                .and(BookingSpecifications.byState(StateEnum.PAST, now)), sort, 0, 10));
+        assertEquals(List.of(current.getId()), findIds(BookingSpecifications.byItemOwner(ownerId)
+                .and(BookingSpecifications.byState(StateEnum.CURRENT, now)), sort, 0, 10));
+        assertEquals(List.of(waiting.getId(), rejected.getId(), booking.getId()),
+                findIds(BookingSpecifications.byItemOwner(ownerId)
+                        .and(BookingSpecifications.byState(StateEnum.FUTURE, now)), sort, 0, 10));
+        assertEquals(List.of(waiting.getId()), findIds(BookingSpecifications.byBooker(booker.getId())
+                .and(BookingSpecifications.byState(StateEnum.WAITING, now)), sort, 0, 10));
+        assertEquals(List.of(rejected.getId()), findIds(BookingSpecifications.byBooker(booker.getId())
+                .and(BookingSpecifications.byState(StateEnum.REJECTED, now)), sort, 0, 10));
+    }
+
+    private List<Long> findIds(Specification<Booking> spec, Sort sort, long offset, int limit) {
+        return bookingRepository.findSlice(spec, sort, offset, limit)
+                .stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testFindLastAndNextByItemIds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> statuses = List.of(StatusEnum.APPROVED.name(), StatusEnum.WAITING.name());
+        User booker = booking.getBooker();
+
+        //пустой список
+        List<Booking> bookingsFound = bookingRepository.findLastAndNextByItemIds(List.of(99L), statuses, now);
         assertNotNull(bookingsFound);
+        assertEquals(0, bookingsFound.size());
+
+        //по одному последнему и следующему бронированию на вещь
+        Booking oldest = saveBooking(item, booker, now.minusDays(3), StatusEnum.APPROVED);
+        Booking last = saveBooking(item, booker, now.minusDays(2), StatusEnum.APPROVED);
+        saveBooking(item, booker, now.minusDays(1), StatusEnum.REJECTED);
+        Booking farthest = saveBooking(item, booker, now.plusDays(2), StatusEnum.WAITING);
+
+        Item otherItem = new Item();
+        otherItem.setName("Дрель");
+        otherItem.setDescription("Простая дрель");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(item.getOwner());
+        otherItem = itemRepository.save(otherItem);
+        Booking otherLast = saveBooking(otherItem, booker, now.minusDays(1), StatusEnum.WAITING);
+
+        bookingsFound = bookingRepository.findLastAndNextByItemIds(List.of(item.getId(), otherItem.getId()),
+                statuses, now);
+        assertNotNull(bookingsFound);
+        assertEquals(3, bookingsFound.size());
+        List<Long> ids = bookingsFound.stream().map(Booking::getId).collect(Collectors.toList());
+        assertTrue(ids.containsAll(List.of(last.getId(), booking.getId(), otherLast.getId())));
+        assertFalse(ids.contains(oldest.getId()));
+        assertFalse(ids.contains(farthest.getId()));
+    }
+
+    @Test
+    void testFindAllShortByItemIdInAndStatusIn() {
+        List<StatusEnum> statuses = List.of(StatusEnum.APPROVED, StatusEnum.WAITING);
+        saveBooking(item, booking.getBooker(), LocalDateTime.now().plusDays(1), StatusEnum.REJECTED);
+
+        //пустой список
+        List<BookingDto> bookingsFound = bookingRepository.findAllShortByItemIdInAndStatusIn(List.of(99L), statuses);
+        assertNotNull(bookingsFound);
+        assertEquals(0, bookingsFound.size());
+
+        //отклонённое бронирование не попадает в выборку
+        bookingsFound = bookingRepository.findAllShortByItemIdInAndStatusIn(List.of(item.getId()), statuses);
         assertEquals(1, bookingsFound.size());
-        assertEquals(bookings.get(0).getId(), bookingsFound.get(0).getId());
+        assertEquals(booking.getId(), bookingsFound.get(0).getId());
+        assertEquals(item.getId(), bookingsFound.get(0).getItemId());
+        assertEquals(booking.getBooker().getId(), bookingsFound.get(0).getBookerId());
+        assertEquals(StatusEnum.APPROVED, bookingsFound.get(0).getStatus());
+
+        bookingsFound = bookingRepository.findAllShortByStatusIn(statuses);
+        assertEquals(1, bookingsFound.size());
+    }
+
+    private Booking saveBooking(Item item, User booker, LocalDateTime start, StatusEnum status) {
+        Booking newBooking = new Booking();
+        newBooking.setItem(item);
+        newBooking.setBooker(booker);
+        newBooking.setStart(start);
+        newBooking.setEnd(start.plusHours(1));
+        newBooking.setStatus(status);
+        return bookingRepository.save(newBooking);
     }
 }
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository repository;
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final long itemId = 1L;
+
+    private BookingAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingAvailabilityIndex(repository, BookingAvailabilityIndex.Mode.CONSISTENT);
+    }
+
+    @Test
+    void disabledIndexNeverAnswers() {
+        BookingAvailabilityIndex disabled = new BookingAvailabilityIndex(repository, BookingAvailabilityIndex.Mode.OFF);
+
+        disabled.warmUp();
+
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void hasApprovedAtSameTime() {
+        when(repository.findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any())).thenReturn(List.of(
+                booking(1L, now, now.plusHours(1), StatusEnum.APPROVED),
+                booking(2L, now.plusHours(3), now.plusHours(4), StatusEnum.APPROVED),
+                booking(3L, now.plusHours(1).plusMinutes(30), now.plusHours(2), StatusEnum.WAITING)
+        ));
+
+        assertTrue(index.hasApprovedAtSameTime(itemId, now.minusHours(1), now));
+        assertTrue(index.hasApprovedAtSameTime(itemId, now.plusMinutes(10), now.plusMinutes(20)));
+        assertTrue(index.hasApprovedAtSameTime(itemId, now.minusHours(1), now.plusHours(5)));
+        assertTrue(index.hasApprovedAtSameTime(itemId, now.plusHours(4), now.plusHours(5)));
+        assertFalse(index.hasApprovedAtSameTime(itemId, now.plusHours(1).plusSeconds(1), now.plusHours(2)));
+        assertFalse(index.hasApprovedAtSameTime(itemId, now.minusHours(2), now.minusSeconds(1)));
+        assertFalse(index.hasApprovedAtSameTime(itemId, now.plusHours(4).plusSeconds(1), now.plusHours(5)));
+
+        verify(repository, times(1)).findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any());
+    }
+
+    @Test
+    void setLastAndNext() {
+        when(repository.findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any())).thenReturn(List.of(
+                booking(1L, now.minusHours(3), now.minusHours(2), StatusEnum.APPROVED),
+                booking(2L, now.minusHours(1), now.plusHours(1), StatusEnum.WAITING),
+                booking(3L, now, now.plusHours(2), StatusEnum.APPROVED),
+                booking(4L, now.plusHours(2), now.plusHours(3), StatusEnum.WAITING),
+                booking(5L, now.plusHours(4), now.plusHours(5), StatusEnum.APPROVED)
+        ));
+        ItemOutDto item = ItemOutDto.builder().id(itemId).build();
+
+        index.setLastAndNext(List.of(item), now);
+
+        assertEquals(2L, item.getLastBooking().getId());
+        assertEquals(4L, item.getNextBooking().getId());
+    }
+
+    @Test
+    void onBookingSavedUpdatesLoadedItem() {
+        when(repository.findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any())).thenReturn(List.of(
+                booking(1L, now, now.plusHours(1), StatusEnum.WAITING)
+        ));
+        assertFalse(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+
+        index.onBookingSaved(entity(1L, now, now.plusHours(1), StatusEnum.APPROVED));
+        assertTrue(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+
+        index.onBookingSaved(entity(2L, now.plusHours(2), now.plusHours(3), StatusEnum.WAITING));
+        ItemOutDto item = ItemOutDto.builder().id(itemId).build();
+        index.setLastAndNext(List.of(item), now.plusMinutes(30));
+        assertEquals(1L, item.getLastBooking().getId());
+        assertEquals(2L, item.getNextBooking().getId());
+
+        index.onBookingSaved(entity(1L, now, now.plusHours(1), StatusEnum.REJECTED));
+        assertFalse(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+        index.setLastAndNext(List.of(item), now.plusMinutes(30));
+        assertNull(item.getLastBooking());
+
+        index.evictItem(itemId);
+        index.hasApprovedAtSameTime(itemId, now, now.plusHours(1));
+        verify(repository, times(2)).findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any());
+    }
+
+    @Test
+    void onBookingSavedInTransactionAppliesAfterCommit() {
+        when(repository.findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any())).thenReturn(List.of());
+        assertFalse(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.onBookingSaved(entity(1L, now, now.plusHours(1), StatusEnum.APPROVED));
+            assertFalse(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+        verify(repository, times(2)).findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any());
+    }
+
+    @Test
+    void onBookingSavedInRolledBackTransactionIsDropped() {
+        when(repository.findAllShortByItemIdInAndStatusIn(eq(List.of(itemId)), any())).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.onBookingSaved(entity(1L, now, now.plusHours(1), StatusEnum.APPROVED));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+    }
+
+    @Test
+    void warmUpLoadsAllItems() {
+        when(repository.findAllShortByStatusIn(any())).thenReturn(List.of(
+                booking(1L, now, now.plusHours(1), StatusEnum.APPROVED)
+        ));
+
+        index.warmUp();
+
+        assertTrue(index.hasApprovedAtSameTime(itemId, now, now.plusHours(1)));
+        verify(repository, never()).findAllShortByItemIdInAndStatusIn(any(), any());
+    }
+
+    private BookingDto booking(long id, LocalDateTime start, LocalDateTime end, StatusEnum status) {
+        return BookingDto.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .status(status)
+                .itemId(itemId)
+                .bookerId(2L)
+                .build();
+    }
+
+    private Booking entity(long id, LocalDateTime start, LocalDateTime end, StatusEnum status) {
+        Item item = new Item();
+        item.setId(itemId);
+        User booker = new User();
+        booker.setId(2L);
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+}
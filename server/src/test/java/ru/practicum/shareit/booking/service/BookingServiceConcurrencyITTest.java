@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.exceptions.ValidException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Одновременное подтверждение пересекающихся бронирований: у каждой вещи подтвердиться должно ровно одно.
+ * Попытки идут тысячами и вперемешку по вещам. Пропускная способность и p99 задержки попытки зависят
+ * от машины, поэтому проверяются только в профиле {@code performance} ({@code mvn -pl server test -Pperformance}).
+ * Пороги взяты с большим запасом: они ловят ожидание блокировок до таймаута или сериализацию всех вещей
+ * на одной блокировке.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingServiceConcurrencyITTest {
+    private static final double MIN_ATTEMPTS_PER_SECOND = 20;
+    private static final long MAX_P99_MILLIS = 2000;
+
+    private final BookingService service;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        userIds.forEach(userRepository::deleteById);
+    }
+
+    @ParameterizedTest(name = "вещей {0}, бронирований на вещь {1}, потоков {2}")
+    @CsvSource({"1, 16, 16", "1, 2000, 64", "100, 20, 64"})
+    void concurrentApprovalsOfOverlappingBookingsApproveOnlyOnePerItem(int items, int bookingsPerItem, int threads)
+            throws Exception {
+        approveConcurrently(items, bookingsPerItem, threads);
+    }
+
+    @Tag("performance")
+    @ParameterizedTest(name = "вещей {0}, бронирований на вещь {1}, потоков {2}")
+    @CsvSource({"1, 2000, 64", "100, 20, 64"})
+    void concurrentApprovalsKeepThroughputAndLatency(int items, int bookingsPerItem, int threads) throws Exception {
+        ApprovalRun run = approveConcurrently(items, bookingsPerItem, threads);
+
+        double attemptsPerSecond = run.latencies.length / (run.elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+        Arrays.sort(run.latencies);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(
+                run.latencies[(int) Math.ceil(run.latencies.length * 0.99) - 1]);
+        assertTrue(attemptsPerSecond >= MIN_ATTEMPTS_PER_SECOND,
+                String.format("Попыток в секунду: %.1f", attemptsPerSecond));
+        assertTrue(p99Millis <= MAX_P99_MILLIS, "p99 попытки, мс: " + p99Millis);
+    }
+
+    /**
+     * Подтверждает все бронирования одновременно и проверяет, что у каждой вещи подтверждено ровно одно.
+     */
+    private ApprovalRun approveConcurrently(int items, int bookingsPerItem, int threads) throws Exception {
+        User owner = saveUser("owner", "owner@concurrency.ru");
+        User booker = saveUser("booker", "booker@concurrency.ru");
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Item item = new Item();
+            item.setName("Дрель " + i);
+            item.setDescription("Дрель обыкновенная");
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item = itemRepository.save(item);
+            for (int j = 0; j < bookingsPerItem; j++) {
+                bookings.add(Booking.builder()
+                        .start(start.plusSeconds(j))
+                        .end(start.plusHours(1).plusSeconds(j))
+                        .item(item)
+                        .booker(booker)
+                        .status(StatusEnum.WAITING)
+                        .build());
+            }
+        }
+        List<Long> bookingIds = bookingRepository.saveAll(bookings).stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        Collections.shuffle(bookingIds, new Random(42));
+
+        int attempts = bookingIds.size();
+        long[] latencies = new long[attempts];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        long elapsed;
+        try {
+            for (int i = 0; i < attempts; i++) {
+                int attempt = i;
+                Long bookingId = bookingIds.get(i);
+                results.add(executor.submit(() -> {
+                    startSignal.await();
+                    long sent = System.nanoTime();
+                    try {
+                        service.approveOrRejectBooking(owner.getId(), true, bookingId);
+                        return true;
+                    } catch (ValidException e) {
+                        return false;
+                    } finally {
+                        latencies[attempt] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            long started = System.nanoTime();
+            startSignal.countDown();
+
+            int approved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    approved++;
+                }
+            }
+            elapsed = System.nanoTime() - started;
+            assertEquals(items, approved);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> stored = bookingRepository.findAllById(bookingIds);
+        Map<Long, Long> approvedByItem = stored.stream()
+                .filter(booking -> booking.getStatus() == StatusEnum.APPROVED)
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.counting()));
+        assertEquals(items, approvedByItem.size());
+        assertTrue(approvedByItem.values().stream().allMatch(count -> count == 1), approvedByItem.toString());
+        assertEquals(attempts - items, stored.stream()
+                .filter(booking -> booking.getStatus() == StatusEnum.WAITING)
+                .count());
+        return new ApprovalRun(latencies, elapsed);
+    }
+
+    private User saveUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user = userRepository.save(user);
+        userIds.add(user.getId());
+        return user;
+    }
+
+    @AllArgsConstructor
+    private static class ApprovalRun {
+        private final long[] latencies;
+        private final long elapsed;
+    }
+}
@@ -1,28 +1,40 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.exceptions.ValidException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
-import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(StatementCounter.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceITTest {
     private final EntityManager em;
+    private final StatementCounter statements;
     private final BookingService service;
 
     @Test
@@ -62,6 +74,147 @@ public class BookingServiceITTest {
         }
     }
 
+    @Test
+    void findByCursorPagesLikeOffset() {
+        User owner = makeUser("name1", "e1@mail.ru");
+        User booker = makeUser("name2", "e2@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+
+        Item item = makeAvailableItem("name", "description", owner);
+        em.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            LocalDateTime bookingStart = start.plusHours(i / 2);
+            em.persist(makeBooking(bookingStart, bookingStart.plusMinutes(30), item, booker));
+        }
+        em.flush();
+
+        List<Long> expected = service.findAllForUser(booker.getId(), "ALL", 0, 10)
+                .stream()
+                .map(BookingOutDto::getId)
+                .collect(Collectors.toList());
+        assertThat(expected, hasSize(7));
+
+        List<Long> actual = new ArrayList<>();
+        List<BookingOutDto> page = service.findAllForUser(booker.getId(), "ALL", 0, 3);
+        while (!page.isEmpty() && actual.size() < expected.size()) {
+            page.forEach(booking -> actual.add(booking.getId()));
+            BookingCursor after = BookingCursor.of(page.get(page.size() - 1));
+            page = service.findAllForUser(booker.getId(), "ALL", after, 3);
+        }
+        assertThat(actual, equalTo(expected));
+
+        List<BookingOutDto> ownerPage = service.findAllForOwner(owner.getId(), "FUTURE",
+                BookingCursor.parse(BookingCursor.of(service.findAllForOwner(owner.getId(), "FUTURE", 0, 5)
+                        .get(4)).toString()), 5);
+        assertThat(ownerPage.stream().map(BookingOutDto::getId).collect(Collectors.toList()),
+                equalTo(expected.subList(5, 7)));
+    }
+
+    @Test
+    void findAllStatementCountDoesNotDependOnPageSize() {
+        User owner = makeUser("owner", "owner@mail.ru");
+        em.persist(owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User booker = makeUser("booker" + i, "booker" + i + "@mail.ru");
+            em.persist(booker);
+            bookers.add(booker);
+            Item item = makeAvailableItem("name" + i, "description" + i, owner);
+            em.persist(item);
+            em.persist(makeBooking(start.plusHours(i), start.plusHours(i).plusMinutes(30), item, booker));
+            em.persist(makeBooking(start.plusDays(1).plusHours(i), start.plusDays(1).plusHours(i).plusMinutes(30),
+                    item, bookers.get(0)));
+        }
+        em.flush();
+
+        assertThat(statements.countCold(() -> service.findAllForOwner(owner.getId(), "ALL", 0, 2)),
+                equalTo(statements.countCold(() -> service.findAllForOwner(owner.getId(), "ALL", 0, 20))));
+        assertThat(statements.countCold(() -> service.findAllForUser(bookers.get(0).getId(), "FUTURE", 0, 2)),
+                equalTo(statements.countCold(() -> service.findAllForUser(bookers.get(0).getId(), "FUTURE", 0, 20))));
+    }
+
+    @Test
+    void importBookingsKeepsHistoryAndBatchesInserts() {
+        User owner = makeUser("owner", "owner@mail.ru");
+        User booker = makeUser("booker", "booker@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+        Item item = makeAvailableItem("name", "description", owner);
+        em.persist(item);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        List<BookingDto> history = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            history.add(BookingDto.builder()
+                    .itemId(item.getId())
+                    .bookerId(booker.getId())
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .status(StatusEnum.APPROVED)
+                    .build());
+        }
+
+        List<BookingOutDto> imported = new ArrayList<>();
+        long importStatements = statements.countCold(
+                () -> imported.addAll(service.importBookings(history, owner.getId())));
+
+        assertThat(importStatements, lessThan(15L));
+        assertThat(imported, hasSize(history.size()));
+        assertThat(imported.stream().map(BookingOutDto::getId).distinct().count(), equalTo(120L));
+        assertThat(service.findAllForOwner(owner.getId(), "PAST", 0, 200), everyItem(allOf(
+                hasProperty("status", equalTo(StatusEnum.APPROVED)),
+                hasProperty("booker", hasProperty("id", equalTo(booker.getId()))))));
+        assertThat(service.findAllForOwner(owner.getId(), "PAST", 0, 200), hasSize(120));
+        assertThrows(ObjectNotFoundException.class, () -> service.importBookings(history, booker.getId()));
+    }
+
+    @Test
+    void importBookingsRejectsApprovedOverlaps() {
+        User owner = makeUser("owner", "owner@mail.ru");
+        User booker = makeUser("booker", "booker@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+        Item item = makeAvailableItem("name", "description", owner);
+        em.persist(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking existing = makeBooking(start, start.plusHours(2), item, booker);
+        existing.setStatus(StatusEnum.APPROVED);
+        em.persist(existing);
+        em.flush();
+
+        BookingDto afterExisting = importedBooking(item, booker, start.plusHours(3), start.plusHours(4),
+                StatusEnum.APPROVED);
+        BookingDto overlapsExisting = importedBooking(item, booker, start.plusHours(1), start.plusHours(5),
+                StatusEnum.APPROVED);
+        BookingDto overlapsBatch = importedBooking(item, booker, start.plusHours(4), start.plusHours(6),
+                StatusEnum.APPROVED);
+        BookingDto waiting = importedBooking(item, booker, start, start.plusHours(6), StatusEnum.WAITING);
+
+        assertThrows(ValidException.class,
+                () -> service.importBookings(List.of(overlapsExisting), owner.getId()));
+        assertThrows(ValidException.class,
+                () -> service.importBookings(List.of(afterExisting, overlapsBatch), owner.getId()));
+        assertThat(service.importBookings(List.of(afterExisting, waiting), owner.getId()), hasSize(2));
+    }
+
+    private BookingDto importedBooking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                       StatusEnum status) {
+        return BookingDto.builder()
+                .itemId(item.getId())
+                .bookerId(booker.getId())
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+
+
     private Booking makeBooking(LocalDateTime start,
                                 LocalDateTime end,
                                 Item item,
@@ -1,15 +1,16 @@
 package ru.practicum.shareit.booking.service;
 
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,10 +19,11 @@ import ru.practicum.shareit.enums.StatusEnum;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.validation.ValidationException;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -29,12 +31,12 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceTest {
-    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start", "id");
 
     @Mock
     BookingRepository repository;
@@ -45,6 +47,12 @@ class BookingServiceTest {
     @Mock
     private ItemRepository itemRepo;
 
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ItemSummaryService itemSummaryService;
+
     @InjectMocks
     BookingServiceImpl service;
 
@@ -129,12 +137,39 @@ class BookingServiceTest {
         assertEquals(booking.getId(), bookingOutDto.getId());
     }
 
+    @Test
+    void findAllAfterCursor() {
+        int size = 2;
+        long userId = booker.getId();
+        long ownerId = owner.getId();
+        BookingCursor cursor = new BookingCursor(booking2.getStart().plusSeconds(1), 10L);
+        when(userRepo.findById(userId)).thenReturn(Optional.of(booker));
+        when(userRepo.findById(ownerId)).thenReturn(Optional.of(owner));
+
+        //Fail By Wrong State
+        UnknownStateException exception = assertThrows(
+                UnknownStateException.class,
+                () -> service.findAllForUser(userId, "UNKNOWN", cursor, size)
+        );
+        assertEquals("Unknown state: UNKNOWN", exception.getMessage());
+
+        //Regular Case
+        when(repository.findSlice(any(), eq(SORT), eq(0L), eq(size))).thenReturn(List.of(booking2, booking));
+        List<BookingOutDto> bookings = service.findAllForUser(userId, "ALL", cursor, size);
+        assertEquals(2, bookings.size());
+        assertEquals(booking2.getId(), bookings.get(0).getId());
+        assertEquals(booking.getId(), bookings.get(1).getId());
+
+        bookings = service.findAllForOwner(ownerId, "PAST", cursor, size);
+        assertEquals(2, bookings.size());
+        verify(repository, times(2)).findSlice(any(), eq(SORT), eq(0L), eq(size));
+    }
+
     @Test
     void findAllForUser() {
         int from = 0;
         int size = 1;
         long userId = booker.getId();
-        PageRequest page = PageRequest.of(0, size, SORT);
         when(userRepo.findById(userId)).thenReturn(Optional.of(booker));
 
         //Fail By Wrong State
@@ -144,9 +179,10 @@ class BookingServiceTest {
                 () -> service.findAllForUser(userId, "UNKNOWN", from, size)
         );
         assertEquals(error, exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
 
         //State All
-        when(repository.findAllByBooker_Id(userId, page)).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
         List<BookingOutDto> bookingOutDtos = service.findAllForUser(userId, "ALL", from, size);
 
         assertNotNull(bookingOutDtos);
@@ -154,7 +190,7 @@ class BookingServiceTest {
         assertEquals(booking.getId(), bookingOutDtos.get(0).getId());
 
         //State PAST
-        when(repository.findAllByBooker_IdAndEndBefore(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForUser(userId, "PAST", from, size);
 
@@ -164,7 +200,7 @@ class BookingServiceTest {
         //State CURRENT
         booking.setEnd(LocalDateTime.now().plusSeconds(120));
 
-        when(repository.findByBookerIdAndStartIsBeforeAndEndIsAfter(anyLong(), any(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForUser(userId, "CURRENT", from, size);
 
@@ -174,7 +210,7 @@ class BookingServiceTest {
         //State FUTURE
         booking.setStart(LocalDateTime.now().plusSeconds(60));
 
-        when(repository.findAllByBooker_IdAndStartAfter(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForUser(userId, "FUTURE", from, size);
 
@@ -184,7 +220,7 @@ class BookingServiceTest {
         //STATE WAITING
         booking.setStatus(StatusEnum.WAITING);
 
-        when(repository.findAllByBooker_IdAndStatus(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForUser(userId, "WAITING", from, size);
 
@@ -205,7 +241,6 @@ class BookingServiceTest {
         int from = 0;
         int size = 1;
         long userId = owner.getId();
-        PageRequest page = PageRequest.of(0, size, SORT);
         when(userRepo.findById(userId)).thenReturn(Optional.of(owner));
 
         //Fail By Wrong State
@@ -217,7 +252,7 @@ class BookingServiceTest {
         assertEquals(error, exception.getMessage());
 
         //State ALL
-        when(repository.findAllByItemOwner(userId, page)).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         List<BookingOutDto> bookingOutDtos = service.findAllForOwner(userId, "ALL", from, size);
 
@@ -226,7 +261,7 @@ class BookingServiceTest {
         assertEquals(booking.getId(), bookingOutDtos.get(0).getId());
 
         //State PAST
-        when(repository.findByItemOwnerIdAndEndIsBefore(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForOwner(userId, "PAST", from, size);
 
@@ -235,8 +270,7 @@ class BookingServiceTest {
 
         //STATE CURRENT
         booking.setEnd(LocalDateTime.now().plusSeconds(120));
-        when(repository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(anyLong(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForOwner(userId, "CURRENT", from, size);
 
@@ -245,7 +279,7 @@ class BookingServiceTest {
 
         //State FUTURE
         booking.setStart(LocalDateTime.now().plusSeconds(60));
-        when(repository.findByItemOwnerIdAndStartIsAfter(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForOwner(userId, "FUTURE", from, size);
 
@@ -254,7 +288,7 @@ class BookingServiceTest {
 
         //State WAITING
         booking.setStatus(StatusEnum.WAITING);
-        when(repository.findAllByItemOwnerAndStatus(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForOwner(userId, "WAITING", from, size);
 
@@ -263,7 +297,7 @@ class BookingServiceTest {
 
         //State REJECT
         booking.setStatus(StatusEnum.REJECTED);
-        when(repository.findAllByItemOwnerAndStatus(anyLong(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
+        when(repository.findSlice(any(), eq(SORT), eq((long) from), eq(size))).thenReturn(List.of(booking));
 
         bookingOutDtos = service.findAllForOwner(userId, "REJECTED", from, size);
 
@@ -294,7 +328,7 @@ class BookingServiceTest {
                 .build();
 
         when(userRepo.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(itemRepo.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepo.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         String error = String.format("Вещь с id %d  недоступна для бронирования для владельца", itemId);
         BookingAccessDeniedForOwnerException exception = assertThrows(
                 BookingAccessDeniedForOwnerException.class,
@@ -304,7 +338,7 @@ class BookingServiceTest {
         item.setAvailable(true);
         long bookerId = booker.getId();
         when(userRepo.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemRepo.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepo.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         error = "Время начала не может совпадать с концом!";
         StartTimeAndEndTimeException exception1 = assertThrows(
                 StartTimeAndEndTimeException.class,
@@ -313,7 +347,7 @@ class BookingServiceTest {
 
         item.setAvailable(false);
         when(userRepo.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemRepo.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepo.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         error = String.format("Вещь с id %d  недоступна для бронирования", itemId);
         BookingAccessDeniedException ex = assertThrows(
                 BookingAccessDeniedException.class,
@@ -321,7 +355,7 @@ class BookingServiceTest {
         assertEquals(error, ex.getMessage());
 
         item.setAvailable(true);
-        when(itemRepo.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepo.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(repository.findBookingsAtSameTime(itemId, StatusEnum.APPROVED, start, end))
                 .thenReturn(List.of(booking2));
         error = "Время для аренды недоступно";
@@ -346,7 +380,7 @@ class BookingServiceTest {
         long itemId = item.getId();
 
         when(userRepo.findById(userId)).thenReturn(Optional.of(owner));
-        when(itemRepo.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepo.findOwnerIdById(itemId)).thenReturn(Optional.of(owner.getId()));
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         String error = String.format("Бронирование с id %d уже подтверждено", bookingId);
@@ -357,10 +391,42 @@ class BookingServiceTest {
         assertEquals(error, exception.getMessage());
 
         //Regular Case
-        when(repository.save(any())).thenReturn(booking);
+        when(repository.saveAndFlush(any())).thenReturn(booking);
 
         BookingOutDto bookingOutDto = service.approveOrRejectBooking(userId, false, bookingId);
         assertNotNull(bookingOutDto);
         assertEquals(booking.getId(), bookingOutDto.getId());
+
+        //Fail By Approved Booking At Same Time
+        booking.setStatus(StatusEnum.WAITING);
+        when(itemRepo.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(repository.findBookingsAtSameTime(itemId, StatusEnum.APPROVED, booking.getStart(), booking.getEnd()))
+                .thenReturn(List.of(booking2));
+        ValidException timeException = assertThrows(
+                ValidException.class,
+                () -> service.approveOrRejectBooking(userId, true, bookingId)
+        );
+        assertEquals("Время для аренды недоступно", timeException.getMessage());
+
+        //Fail By Database Overlap Constraint
+        when(repository.findBookingsAtSameTime(itemId, StatusEnum.APPROVED, booking.getStart(), booking.getEnd()))
+                .thenReturn(Collections.emptyList());
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+        timeException = assertThrows(
+                ValidException.class,
+                () -> service.approveOrRejectBooking(userId, true, bookingId)
+        );
+        assertEquals("Время для аренды недоступно", timeException.getMessage());
+
+        //Other Integrity Violations Are Not A Time Conflict
+        booking.setStatus(StatusEnum.WAITING);
+        doThrow(new DataIntegrityViolationException("not null",
+                new SQLException("null value in column violates not-null constraint", "23502")))
+                .when(repository).saveAndFlush(any());
+        assertThrows(
+                DataIntegrityViolationException.class,
+                () -> service.approveOrRejectBooking(userId, true, bookingId)
+        );
     }
 }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.StatementCounter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemInDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Число обращений к базе при повторных проверках пользователя и владельца вещи.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(StatementCounter.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CacheConfigITTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRepository itemRepository;
+    private final StatementCounter statements;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        userIds.forEach(userService::deleteUser);
+    }
+
+    @Test
+    void shouldLoadUserOnceUntilChanged() {
+        Long userId = createUser("cached");
+
+        assertEquals(1, statements.count(() -> userService.getUserById(userId)));
+        assertEquals(0, statements.count(() -> userService.getUserById(userId)));
+
+        assertThrows(ValidationException.class,
+                () -> userService.patchUser(userId, UserDto.builder().name("renamed").email(" ").build()));
+        assertEquals("cached", userService.getUserById(userId).getName());
+
+        userService.patchUser(userId, UserDto.builder().name("renamed").build());
+        assertEquals(1, statements.count(() -> assertEquals("renamed", userService.getUserById(userId).getName())));
+
+        userService.deleteUser(userId);
+        userIds.remove(userId);
+        assertThrows(ObjectNotFoundException.class, () -> userService.getUserById(userId));
+    }
+
+    @Test
+    void shouldLoadItemOwnerOnceUntilItemChanged() {
+        Long ownerId = createUser("owner");
+        Long itemId = createItem(ownerId);
+
+        assertEquals(1, statements.count(() -> itemRepository.findOwnerIdById(itemId)));
+        assertEquals(0, statements.count(() -> assertEquals(Optional.of(ownerId), itemRepository.findOwnerIdById(itemId))));
+
+        itemService.updateItem(ItemInDto.builder().name("Перфоратор").build(), itemId, ownerId);
+        assertEquals(1, statements.count(() -> itemRepository.findOwnerIdById(itemId)));
+
+        itemService.deleteItem(ownerId, itemId);
+        assertEquals(Optional.empty(), itemRepository.findOwnerIdById(itemId));
+    }
+
+    @Test
+    void shouldCheckOwnerOfBookingWithoutLookups() {
+        Long ownerId = createUser("owner");
+        Long bookerId = createUser("booker");
+        Long itemId = createItem(ownerId);
+        Long bookingId = bookingService.createBooking(BookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), bookerId).getId();
+        bookingService.approveOrRejectBooking(ownerId, false, bookingId);
+
+        assertEquals(1, statements.count(() -> assertThrows(ValidationException.class,
+                () -> bookingService.approveOrRejectBooking(ownerId, false, bookingId))));
+
+        userService.deleteUser(ownerId);
+        userIds.remove(ownerId);
+        assertThrows(ObjectNotFoundException.class, () -> bookingService.approveOrRejectBooking(ownerId, false, bookingId));
+        assertEquals(Optional.empty(), itemRepository.findOwnerIdById(itemId));
+    }
+
+
+    private Long createUser(String name) {
+        Long userId = userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@cache.ru")
+                .build()).getId();
+        userIds.add(userId);
+        return userId;
+    }
+
+    private Long createItem(Long ownerId) {
+        return itemService.createItem(ItemInDto.builder()
+                .name("Дрель")
+                .description("Дрель обыкновенная")
+                .available(true)
+                .build(), ownerId).getId();
+    }
+}
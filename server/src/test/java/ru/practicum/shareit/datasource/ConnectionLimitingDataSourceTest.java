@@ -0,0 +1,102 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionLimitingDataSourceTest {
+    private static final int MAX_CONNECTIONS = 3;
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger peakOpen = new AtomicInteger();
+
+    @Test
+    void shouldNotLetMoreThreadsThanPoolSize() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(countingDataSource(),
+                MAX_CONNECTIONS, Duration.ofSeconds(10));
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 500; i++) {
+                results.add(executor.submit(() -> {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(MAX_CONNECTIONS, peakOpen.get());
+        assertEquals(MAX_CONNECTIONS, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void shouldLimitToDefaultPoolSizeWhenPoolSizeIsNotSet() {
+        HikariDataSource pool = new HikariDataSource();
+
+        Object limited = DataSourceConfig.connectionLimitingDataSourcePostProcessor()
+                .postProcessAfterInitialization(pool, "dataSource");
+
+        assertInstanceOf(ConnectionLimitingDataSource.class, limited);
+        assertEquals(DataSourceConfig.DEFAULT_POOL_SIZE,
+                ((ConnectionLimitingDataSource) limited).getAvailablePermits());
+        assertEquals(DataSourceConfig.DEFAULT_POOL_SIZE, pool.getMaximumPoolSize());
+    }
+
+    @Test
+    void shouldFailWhenNoConnectionReleasedInTime() throws SQLException {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(countingDataSource(),
+                1, Duration.ofMillis(50));
+        Connection connection = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        connection.close();
+        connection.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    private DataSource countingDataSource() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            peakOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        return target;
+    }
+}
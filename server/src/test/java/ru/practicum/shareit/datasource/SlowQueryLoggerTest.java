@@ -0,0 +1,43 @@
+package ru.practicum.shareit.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggerTest {
+
+    @Test
+    void shouldLogOnlyQueriesAboveThresholdWithParameters(CapturedOutput output) throws SQLException {
+        query(Duration.ofHours(1), "fast");
+        query(Duration.ZERO, "slow");
+
+        assertFalse(output.getOut().contains("Params:[(fast)]"));
+        assertTrue(output.getOut().contains("Query:[\"select ?\"], Params:[(slow)]"));
+    }
+
+    private void query(Duration threshold, String parameter) throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query");
+        DataSource dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new SlowQueryLogger(threshold))
+                .build();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select ?")) {
+            statement.setString(1, parameter);
+            statement.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Импорт сохраняет пакеты по три записи своими транзакциями и отвечает итогом по каждой записи.
+ */
+@SpringBootTest(properties = "shareit.items.bulk.batch-size=3")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBulkImporterITTest {
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+    private static final MediaType CSV = MediaType.parseMediaType(ItemBulkReader.CSV_VALUE);
+
+    private final ItemBulkImporter importer;
+    private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final ObjectMapper mapper;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(UserDto.builder()
+                .name("owner")
+                .email("owner" + System.nanoTime() + "@bulk.ru")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        userService.deleteUser(ownerId);
+    }
+
+    @Test
+    void shouldReportEveryNdjsonLine() throws IOException {
+        String ndjson = """
+                {"name":"Дрель","description":"Дрель обыкновенная","available":true}
+                {"name":" ","description":"Без названия","available":true}
+                {"name":"Пила","description":"Пила","available":"maybe"}
+                {"name":"Пила","description":"Пила","available":false,"requestId":-1}
+                {"name":"Молоток","description":"Молоток","available":false}
+                """;
+
+        List<ItemBulkResult> results = importItems(NDJSON, ndjson);
+
+        assertThat(results, hasSize(5));
+        assertThat(results.stream().map(ItemBulkResult::getLine).toList(), contains(1L, 2L, 3L, 4L, 5L));
+        assertThat(results.get(0).getId(), notNullValue());
+        assertEquals("Название не может быть пустым", results.get(1).getError());
+        assertThat(results.get(2).getError(), startsWith("Некорректная запись"));
+        assertEquals("Запрос с id -1 не найден", results.get(3).getError());
+        assertThat(results.get(4).getId(), notNullValue());
+        assertEquals(2, countItems());
+    }
+
+    @Test
+    void shouldImportCsvWithHeader() throws IOException {
+        String csv = """
+                name,description,available,requestId
+                Дрель,"Дрель, ударная",true,
+                Пила,Пила,false,
+                Молоток,,true,
+                Отвёртка,Крестовая,true,
+                """;
+
+        List<ItemBulkResult> results = importItems(CSV, csv);
+
+        assertThat(results, hasSize(4));
+        assertThat(results.get(1).getId(), notNullValue());
+        assertEquals("Описание не может быть пустым", results.get(2).getError());
+        assertThat(results.get(3).getId(), notNullValue());
+        assertEquals(3, countItems());
+        assertThat(itemRepository.findById(results.get(0).getId()).orElseThrow().getDescription(),
+                equalTo("Дрель, ударная"));
+    }
+
+    @Test
+    void shouldStopAtBrokenJson() throws IOException {
+        String ndjson = """
+                {"name":"Дрель","description":"Дрель","available":true}
+                {"name":"Пила" "description":"Пила"}
+                {"name":"Молоток","description":"Молоток","available":true}
+                """;
+
+        List<ItemBulkResult> results = importItems(NDJSON, ndjson);
+
+        assertThat(results, hasSize(2));
+        assertThat(results.get(0).getId(), notNullValue());
+        assertThat(results.get(1).getError(), startsWith("Некорректная запись"));
+        assertEquals(1, countItems());
+    }
+
+    @Test
+    void shouldRejectUnknownOwnerBeforeReading() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(ObjectNotFoundException.class, () -> importer.importItems(-1L, NDJSON,
+                new ByteArrayInputStream(new byte[0]), out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void shouldStreamLargeImport() throws IOException {
+        int count = 5_000;
+        InputStream in = new GeneratedNdjson(count);
+        List<Long> ids = new ArrayList<>();
+        OutputStream out = new OutputStream() {
+            private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+            @Override
+            public void write(int b) throws IOException {
+                if (b != '\n') {
+                    line.write(b);
+                    return;
+                }
+                ids.add(mapper.readValue(line.toByteArray(), ItemBulkResult.class).getId());
+                line.reset();
+            }
+        };
+
+        importer.importItems(ownerId, NDJSON, in, out);
+
+        assertThat(ids, hasSize(count));
+        assertThat(ids, everyItem(notNullValue()));
+        assertEquals(count, countItems());
+    }
+
+    private List<ItemBulkResult> importItems(MediaType contentType, String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importer.importItems(ownerId, contentType, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<ItemBulkResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(mapper.readValue(line, ItemBulkResult.class));
+        }
+        return results;
+    }
+
+    private long countItems() {
+        return itemRepository.findAllByOwner_Id(ownerId, PageRequest.of(0, 1)).getTotalElements();
+    }
+
+    /**
+     * Строки NDJSON создаются по мере чтения, весь импорт в памяти не лежит.
+     */
+    private static final class GeneratedNdjson extends InputStream {
+        private final int count;
+        private int produced;
+        private byte[] line = new byte[0];
+        private int position;
+
+        private GeneratedNdjson(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (produced == count) {
+                    return -1;
+                }
+                produced++;
+                line = ("{\"name\":\"Вещь " + produced + "\",\"description\":\"Описание\",\"available\":true}\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return line[position++] & 0xff;
+        }
+    }
+}
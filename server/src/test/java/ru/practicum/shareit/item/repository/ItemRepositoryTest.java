@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.TypedQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -12,7 +14,6 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -154,6 +155,39 @@ class ItemRepositoryTest {
         assertEquals(2, itemsSearch.size());
     }
 
+    @Test
+    void testSearchingOrdersNameMatchesFirst() {
+        Item descriptionMatch = new Item();
+        descriptionMatch.setOwner(owner);
+        descriptionMatch.setAvailable(true);
+        descriptionMatch.setName("Шуруповерт");
+        descriptionMatch.setDescription("Шуруповерт, в комплекте дрель и биты");
+        descriptionMatch = itemRepository.save(descriptionMatch);
+
+        Item nameMatch = new Item();
+        nameMatch.setOwner(owner);
+        nameMatch.setAvailable(true);
+        nameMatch.setName("Дрель");
+        nameMatch.setDescription("Ударная, 800 Вт");
+        nameMatch = itemRepository.save(nameMatch);
+
+        Item unavailable = new Item();
+        unavailable.setOwner(owner);
+        unavailable.setAvailable(false);
+        unavailable.setName("Дрель");
+        unavailable.setDescription("Сломана");
+        itemRepository.save(unavailable);
+
+        Page<Item> found = itemRepository.search("ДРЕЛЬ", PageRequest.of(0, 10));
+        assertEquals(2, found.getTotalElements());
+        assertEquals(nameMatch.getId(), found.getContent().get(0).getId());
+        assertEquals(descriptionMatch.getId(), found.getContent().get(1).getId());
+
+        found = itemRepository.search("ДРЕЛЬ", PageRequest.of(1, 1));
+        assertEquals(1, found.getContent().size());
+        assertEquals(descriptionMatch.getId(), found.getContent().get(0).getId());
+    }
+
     @Test
     void testFindByRequestId() {
         //пустой спикок
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchTest {
+
+    @Mock
+    private ItemRepository repository;
+
+    private final PageRequest page = PageRequest.of(0, 10);
+
+    @Test
+    void likeModeUsesPortableQuery() {
+        Item item = item(1L);
+        when(repository.search("дрель", page)).thenReturn(new PageImpl<>(List.of(item)));
+
+        List<Item> found = new ItemSearch(repository, ItemSearch.Mode.LIKE).search("дрель", page);
+
+        assertEquals(List.of(item), found);
+        verify(repository, never()).searchIdsBySimilarity(any(), any());
+    }
+
+    @Test
+    void trigramModeKeepsSimilarityOrder() {
+        Item first = item(3L);
+        Item second = item(1L);
+        Item third = item(2L);
+        when(repository.searchIdsBySimilarity("дрель", page)).thenReturn(List.of(3L, 1L, 2L));
+        when(repository.findAllByIdIn(List.of(3L, 1L, 2L))).thenReturn(List.of(second, third, first));
+
+        List<Item> found = new ItemSearch(repository, ItemSearch.Mode.TRIGRAM).search("дрель", page);
+
+        assertEquals(List.of(first, second, third), found);
+        verify(repository, never()).search(any(), any());
+    }
+
+    @Test
+    void trigramModeSkipsSecondQueryWhenNothingFound() {
+        when(repository.searchIdsBySimilarity("нет такой", page)).thenReturn(List.of());
+
+        List<Item> found = new ItemSearch(repository, ItemSearch.Mode.TRIGRAM).search("нет такой", page);
+
+        assertEquals(List.of(), found);
+        verify(repository, never()).findAllByIdIn(any());
+    }
+
+    private Item item(long id) {
+        Item item = new Item();
+        item.setId(id);
+        return item;
+    }
+}
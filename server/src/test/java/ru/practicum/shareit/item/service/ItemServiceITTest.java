@@ -1,34 +1,41 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.bulk.ItemBulkLine;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
-import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(StatementCounter.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemServiceITTest {
     private static final int SIZE_DEFAULT = 10;
 
     private final EntityManager em;
+    private final StatementCounter statements;
     private final ItemService service;
 
     @Test
@@ -79,6 +86,80 @@ public class ItemServiceITTest {
         ));
     }
 
+    @Test
+    void findAllByUserIdStatementCountDoesNotDependOnPageSize() {
+        User owner = makeUser("owner", "owner@mail.ru");
+        em.persist(owner);
+
+        for (int i = 0; i < 20; i++) {
+            User booker = makeUser("booker" + i, "booker" + i + "@mail.ru");
+            em.persist(booker);
+            Item item = ItemMapper.toItem(makeItemDto("name" + i, "description" + i), owner);
+            em.persist(item);
+            em.persist(makeNewBooking(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                    item, booker));
+            em.persist(makeNewBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                    item, booker));
+            em.persist(makeComment("text" + i, booker, item));
+        }
+        em.flush();
+
+        long smallPageStatements = statements.countCold(() -> service.getAllByUserId(owner.getId(), 0, 2));
+        long largePageStatements = statements.countCold(() -> service.getAllByUserId(owner.getId(), 0, 20));
+
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    void searchAndGetItemStatementCountDoesNotDependOnResultSize() {
+        User booker = makeUser("booker", "booker@mail.ru");
+        em.persist(booker);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User owner = makeUser("owner" + i, "owner" + i + "@mail.ru");
+            em.persist(owner);
+            Item item = ItemMapper.toItem(makeItemDto("Дрель " + i, "description" + i), owner);
+            em.persist(item);
+            items.add(item);
+            User author = makeUser("author" + i, "author" + i + "@mail.ru");
+            em.persist(author);
+            em.persist(makeComment("text" + i, author, items.get(0)));
+        }
+        Item commented = items.get(0);
+        Item single = items.get(9);
+        em.persist(makeComment("text", booker, single));
+        em.flush();
+
+        assertEquals(statements.countCold(() -> service.getByText("дрель", 0, 2)),
+                statements.countCold(() -> service.getByText("дрель", 0, 10)));
+
+        Long commentedId = commented.getId();
+        Long singleId = single.getId();
+        assertEquals(statements.countCold(() -> service.getItemById(singleId, booker.getId())),
+                statements.countCold(() -> service.getItemById(commentedId, booker.getId())));
+    }
+
+    @Test
+    void importItemBatchSendsInsertsInBatches() {
+        User owner = makeUser("owner", "owner@mail.ru");
+        em.persist(owner);
+        em.flush();
+        List<ItemBulkLine> lines = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            lines.add(ItemBulkLine.parsed(i + 1, makeItemDto("Дрель " + i, "description" + i)));
+        }
+
+        List<ItemBulkResult> imported = new ArrayList<>();
+        long importStatements = statements.countCold(
+                () -> imported.addAll(service.importItemBatch(lines, owner.getId())));
+
+        assertThat(importStatements, lessThan(15L));
+        assertThat(imported, hasSize(lines.size()));
+        assertThat(imported.stream().map(ItemBulkResult::getId).distinct().count(), equalTo(120L));
+        assertThat(service.getAllByUserId(owner.getId(), 0, 200), hasSize(120));
+    }
+
+
     private User makeUser(String name, String email) {
         User user = new User();
         user.setName(name);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.enums.StatusEnum;
@@ -22,15 +24,17 @@ import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.validation.ValidationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -51,6 +55,18 @@ class ItemServiceTest {
     @Mock
     CommentRepository commentRepository;
 
+    @Mock
+    BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    ItemSummaryRepository itemSummaryRepository;
+
+    @Mock
+    ItemSummaryService itemSummaryService;
+
+    @Mock
+    ItemSearch itemSearch;
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -103,7 +119,7 @@ class ItemServiceTest {
         long userId = booker.getId();
         int from = 0;
         int size = 1;
-        PageRequest page = PageRequest.of(from / size, size);
+        PageRequest page = PageRequest.of(from / size, size, Sort.by("id"));
         when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
         when(itemRepository.findAllByOwner_Id(userId, page)).thenReturn(Page.empty());
         List<ItemOutDto> itemDtos = new ArrayList<>(itemService.getAllByUserId(userId, from, size));
@@ -113,15 +129,16 @@ class ItemServiceTest {
         //Single List
         userId = owner.getId();
         when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
-        when(commentRepository.findAllByItem_Id(item.getId(), SORT))
+        when(commentRepository.findAllByItem_IdIn(List.of(item.getId()), SORT))
                 .thenReturn(List.of(comment));
-        when(bookingRepository.findAllByItem_IdAndStatusOrderByStartDesc(item.getId(),
-                StatusEnum.APPROVED, StatusEnum.WAITING)).thenReturn(List.of(booking));
+        when(bookingRepository.findLastAndNextByItemIds(eq(Set.of(item.getId())), any(), any()))
+                .thenReturn(List.of(booking));
         when(itemRepository.findAllByOwner_Id(userId, page)).thenReturn(new PageImpl<>(List.of(item)));
         itemDtos = (List<ItemOutDto>) itemService.getAllByUserId(userId, from, size);
         assertNotNull(itemDtos);
         assertEquals(1, itemDtos.size());
         assertEquals(booking.getId(), itemDtos.get(0).getLastBooking().getId());
+        assertEquals(comment.getId(), itemDtos.get(0).getComments().get(0).getId());
     }
 
     @Test
@@ -130,14 +147,16 @@ class ItemServiceTest {
         long itemId = item.getId();
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItem_IdAndStatusOrderByStartDesc(itemId,
-                StatusEnum.APPROVED, StatusEnum.WAITING)).thenReturn(List.of(booking));
+        when(bookingRepository.findLastAndNextByItemIds(eq(Set.of(itemId)), any(), any()))
+                .thenReturn(List.of(booking));
         when(commentRepository.findAllByItem_Id(itemId, SORT))
                 .thenReturn(List.of(comment));
         ItemOutDto itemDto = itemService.getItemById(itemId, ownerId);
         assertNotNull(itemDto);
         assertEquals(itemId, itemDto.getId());
         assertEquals(comment.getId(), itemDto.getComments().get(0).getId());
+        assertEquals(booking.getId(), itemDto.getLastBooking().getId());
+        assertNull(itemDto.getNextBooking());
     }
 
     @Test
@@ -153,7 +172,7 @@ class ItemServiceTest {
 
         //Regular Case
         text = "дРелЬ";
-        when(itemRepository.search(any(), any())).thenReturn(new PageImpl<>(List.of(item)));
+        when(itemSearch.search(any(), any())).thenReturn(List.of(item));
         itemDtos = (List<ItemOutDto>) itemService.getByText(text, from, size);
         assertNotNull(itemDtos);
         assertEquals(1, itemDtos.size());
@@ -222,7 +241,7 @@ class ItemServiceTest {
         long userId = owner.getId();
         long itemId = item.getId();
         when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findOwnerIdById(itemId)).thenReturn(Optional.of(owner.getId()));
         doNothing().when(itemRepository).deleteById(itemId);
         itemService.deleteItem(userId, itemId);
 
@@ -0,0 +1,231 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemInDto;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Карточка вещи следует за отзывами и бронированиями (в том числе удалёнными вместе с пользователем),
+ * а чтение вещи по id обходится одним запросом.
+ */
+@Transactional
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.items.summary.refresh-delay=3600000"
+})
+@AutoConfigureMockMvc
+@Import(StatementCounter.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSummaryServiceITTest {
+    private final EntityManager em;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemSummaryScheduler scheduler;
+    private final MockMvc mvc;
+    private final StatementCounter statements;
+
+    @Test
+    void shouldKeepSummaryUpToDate() {
+        Long ownerId = userService.createUser(UserDto.builder().name("owner").email("owner@summary.ru").build()).getId();
+        Long bookerId = userService.createUser(UserDto.builder().name("booker").email("booker@summary.ru").build()).getId();
+        Long itemId = itemService.createItem(ItemInDto.builder()
+                .name("Дрель")
+                .description("Дрель ударная")
+                .available(true)
+                .build(), ownerId).getId();
+
+        ItemOutDto empty = itemService.getItemById(itemId, ownerId);
+        assertThat(empty.getComments(), empty());
+        assertNull(empty.getLastBooking());
+        assertNull(empty.getNextBooking());
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Long pastId = bookingService.importBookings(List.of(BookingDto.builder()
+                .itemId(itemId)
+                .bookerId(bookerId)
+                .start(now.minusDays(3))
+                .end(now.minusDays(2))
+                .status(StatusEnum.APPROVED)
+                .build()), ownerId).get(0).getId();
+        CommentDto comment = itemService.createComment(CommentDto.builder().text("Хорошая").build(), bookerId, itemId);
+        BookingOutDto next = bookingService.createBooking(BookingDto.builder()
+                .itemId(itemId)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build(), bookerId);
+
+        ItemOutDto item = getItemInOneStatement(itemId, ownerId);
+        assertEquals(pastId, item.getLastBooking().getId());
+        assertEquals(next.getId(), item.getNextBooking().getId());
+        assertThat(item.getComments(), hasSize(1));
+        assertEquals(comment.getId(), item.getComments().get(0).getId());
+        assertEquals("booker", item.getComments().get(0).getAuthorName());
+        assertEquals(itemId, item.getComments().get(0).getItem().getId());
+
+        ItemOutDto forBooker = getItemInOneStatement(itemId, bookerId);
+        assertNull(forBooker.getLastBooking());
+        assertNull(forBooker.getNextBooking());
+        assertThat(forBooker.getComments(), hasSize(1));
+
+        bookingService.approveOrRejectBooking(ownerId, false, next.getId());
+        assertNull(itemService.getItemById(itemId, ownerId).getNextBooking());
+    }
+
+    @Test
+    void shouldMoveStartedBookingToLast() {
+        Long ownerId = userService.createUser(UserDto.builder().name("owner").email("owner@summary.ru").build()).getId();
+        Long bookerId = userService.createUser(UserDto.builder().name("booker").email("booker@summary.ru").build()).getId();
+        Long itemId = itemService.createItem(ItemInDto.builder()
+                .name("Пила")
+                .description("Пила")
+                .available(true)
+                .build(), ownerId).getId();
+        LocalDateTime now = LocalDateTime.now();
+        Long bookingId = bookingService.createBooking(BookingDto.builder()
+                .itemId(itemId)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build(), bookerId).getId();
+
+        em.flush();
+        em.createQuery("update Booking b set b.start = ?1 where b.id = ?2")
+                .setParameter(1, now.minusMinutes(1))
+                .setParameter(2, bookingId)
+                .executeUpdate();
+        em.createQuery("update ItemSummary s set s.nextBookingStart = ?1 where s.itemId = ?2")
+                .setParameter(1, now.minusMinutes(1))
+                .setParameter(2, itemId)
+                .executeUpdate();
+        em.clear();
+
+        ItemOutDto started = itemService.getItemById(itemId, ownerId);
+        assertEquals(bookingId, started.getLastBooking().getId());
+        assertNull(started.getNextBooking());
+
+        scheduler.refreshStartedBookings();
+        em.flush();
+        em.clear();
+
+        ItemSummary summary = em.find(ItemSummary.class, itemId);
+        assertEquals(bookingId, summary.getLastBooking().getId());
+        assertNull(summary.getNextBooking());
+        assertNull(summary.getNextBookingStart());
+        assertEquals(bookingId, getItemInOneStatement(itemId, ownerId).getLastBooking().getId());
+    }
+
+    @Test
+    void shouldRebuildSummaryWhenCommenterAndBookerIsDeleted() throws Exception {
+        Long ownerId = userService.createUser(UserDto.builder().name("owner").email("owner@summary.ru").build()).getId();
+        Long stayerId = userService.createUser(UserDto.builder().name("stayer").email("stayer@summary.ru").build()).getId();
+        Long leaverId = userService.createUser(UserDto.builder().name("leaver").email("leaver@summary.ru").build()).getId();
+        Long itemId = itemService.createItem(ItemInDto.builder()
+                .name("Лестница")
+                .description("Лестница")
+                .available(true)
+                .build(), ownerId).getId();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<BookingOutDto> bookings = bookingService.importBookings(List.of(
+                approved(itemId, stayerId, now.minusDays(5), now.minusDays(4)),
+                approved(itemId, leaverId, now.minusDays(3), now.minusDays(2)),
+                approved(itemId, leaverId, now.plusDays(1), now.plusDays(2)),
+                approved(itemId, stayerId, now.plusDays(3), now.plusDays(4))), ownerId);
+        itemService.createComment(CommentDto.builder().text("Крепкая").build(), stayerId, itemId);
+        itemService.createComment(CommentDto.builder().text("Шаткая").build(), leaverId, itemId);
+
+        userService.deleteUser(leaverId);
+        em.flush();
+        em.clear();
+
+        mvc.perform(get("/items/{id}", itemId).header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(1))
+                .andExpect(jsonPath("$.comments[0].authorName").value("stayer"))
+                .andExpect(jsonPath("$.lastBooking.id").value(bookings.get(0).getId()))
+                .andExpect(jsonPath("$.nextBooking.id").value(bookings.get(3).getId()));
+        mvc.perform(get("/items").header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comments.length()").value(1))
+                .andExpect(jsonPath("$[0].comments[0].authorName").value("stayer"));
+    }
+
+    @Test
+    void shouldRebuildSummaryWhenCommenterIsRenamed() throws Exception {
+        Long ownerId = userService.createUser(UserDto.builder().name("owner").email("owner@summary.ru").build()).getId();
+        Long bookerId = userService.createUser(UserDto.builder().name("booker").email("booker@summary.ru").build()).getId();
+        Long itemId = itemService.createItem(ItemInDto.builder()
+                .name("Пила")
+                .description("Пила")
+                .available(true)
+                .build(), ownerId).getId();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingService.importBookings(List.of(approved(itemId, bookerId, now.minusDays(3), now.minusDays(2))), ownerId);
+        LocalDateTime created = itemService.createComment(CommentDto.builder().text("Острая").build(), bookerId, itemId)
+                .getCreated();
+
+        userService.patchUser(bookerId, UserDto.builder().name("renamed").build());
+        em.flush();
+        em.clear();
+
+        assertEquals(created, em.find(ItemSummary.class, itemId).getComments().get(0).getCreated());
+        mvc.perform(get("/items/{id}", itemId).header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].authorName").value("renamed"));
+        mvc.perform(get("/items").header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comments[0].authorName").value("renamed"));
+    }
+
+    private static BookingDto approved(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        return BookingDto.builder()
+                .itemId(itemId)
+                .bookerId(bookerId)
+                .start(start)
+                .end(end)
+                .status(StatusEnum.APPROVED)
+                .build();
+    }
+
+    /**
+     * Пользователь уже в кэше после первого чтения, второе чтение — один запрос карточки.
+     */
+    private ItemOutDto getItemInOneStatement(Long itemId, Long userId) {
+        em.flush();
+        em.clear();
+        itemService.getItemById(itemId, userId);
+        em.clear();
+        List<ItemOutDto> item = new ArrayList<>();
+        assertEquals(1, statements.count(() -> item.add(itemService.getItemById(itemId, userId))));
+        return item.get(0);
+    }
+}
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.itemRequest.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.StatementCounter;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -12,7 +15,6 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 
-import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,12 +23,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(StatementCounter.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemRequestServiceITTest {
     private static final int SIZE_DEFAULT = 10;
 
     private final EntityManager em;
+    private final StatementCounter statements;
     private final ItemRequestService service;
 
     @Test
@@ -70,6 +74,36 @@ public class ItemRequestServiceITTest {
         ));
     }
 
+    @Test
+    void findStatementCountDoesNotDependOnResultSize() {
+        User requester = makeUser("requester", "requester@mail.ru");
+        em.persist(requester);
+        User viewer = makeUser("viewer", "viewer@mail.ru");
+        em.persist(viewer);
+
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ItemRequest request = ItemRequestMapper.toItemRequest(makeRequestDto("description" + i));
+            request.setRequester(requester);
+            request.setCreated(LocalDateTime.now().minusMinutes(i));
+            em.persist(request);
+            requests.add(request);
+            User owner = makeUser("owner" + i, "owner" + i + "@mail.ru");
+            em.persist(owner);
+            em.persist(makeAvailableItem("name" + i, "description" + i, owner, request));
+            em.persist(makeAvailableItem("other" + i, "description" + i, owner, requests.get(0)));
+        }
+        em.flush();
+
+        assertThat(statements.countCold(() -> service.getAllRequests(viewer.getId(), 0, 2)),
+                equalTo(statements.countCold(() -> service.getAllRequests(viewer.getId(), 0, 20))));
+        assertThat(statements.countCold(() -> service.getOneRequest(requests.get(1).getId(), viewer.getId())),
+                equalTo(statements.countCold(() -> service.getOneRequest(requests.get(0).getId(), viewer.getId()))));
+        long usersRequestsStatements = statements.countCold(() -> service.getAllUsersRequests(requester.getId()));
+        assertThat(usersRequestsStatements, lessThanOrEqualTo(3L));
+    }
+
+
     private ItemRequestOutDto makeRequestDto(String description) {
         return ItemRequestOutDto.builder()
                 .description(description)
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.UnknownStateException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Таймеры сервисов с метками состояния и исхода, счётчик SQL на HTTP-запрос и их выдача в Prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ServiceMetricsITTest {
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mvc;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.createUser(UserDto.builder()
+                .name("user")
+                .email("user" + System.nanoTime() + "@metrics.ru")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        userService.deleteUser(userId);
+    }
+
+    @Test
+    void shouldTimeServiceCallsByStateAndOutcome() {
+        bookingService.findAllForUser(userId, "PAST", 0, 10);
+        assertThrows(UnknownStateException.class, () -> bookingService.findAllForUser(userId, "SOON", 0, 10));
+
+        assertEquals(1, timer("PAST", "success").count());
+        assertEquals(1, timer("UNKNOWN", "UnknownStateException").count());
+        assertNotNull(meterRegistry.find(ServiceMetricsInterceptor.TIMER)
+                .tags("service", "UserService", "method", "createUser", "state", "none", "outcome", "success")
+                .timer());
+    }
+
+    @Test
+    void shouldCountStatementsPerRequestAndExposeToPrometheus() throws Exception {
+        mvc.perform(get("/users/{id}", userId)).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(StatementCountFilter.SUMMARY)
+                .tags("method", "GET", "uri", "/users/{id}")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() >= 1);
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_http_server_statements_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+
+    private Timer timer(String state, String outcome) {
+        return meterRegistry.get(ServiceMetricsInterceptor.TIMER)
+                .tags("service", "BookingService", "method", "findAllForUser", "state", state, "outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.metrics;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.StatusEnum;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemInDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestInDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Число SQL на адрес не зависит от объёма данных пользователя и укладывается в бюджет обработчика
+ * (в тестах превышение бюджета — ошибка).
+ */
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class StatementBudgetITTest {
+    private final EntityManager em;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final BookingService bookingService;
+    private final MockMvc mvc;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(UserDto.builder().name("owner").email("owner@budget.ru").build()).getId();
+        bookerId = userService.createUser(UserDto.builder().name("booker").email("booker@budget.ru").build()).getId();
+    }
+
+    @Test
+    void shouldNotGrowStatementsWithData() throws Exception {
+        seed(2);
+        Map<String, Integer> few = statementsPerUrl();
+
+        seed(6);
+        Map<String, Integer> many = statementsPerUrl();
+
+        assertEquals(few, many);
+    }
+
+    private Map<String, Integer> statementsPerUrl() throws Exception {
+        em.flush();
+        em.clear();
+        Map<String, Integer> statements = new LinkedHashMap<>();
+        statements.put("/items", statements("/items", ownerId));
+        statements.put("/items/{id}", statements("/items/" + itemId, ownerId));
+        statements.put("/items/search", statements("/items/search?text=budget", bookerId));
+        statements.put("/bookings", statements("/bookings", bookerId));
+        statements.put("/bookings/owner", statements("/bookings/owner", ownerId));
+        statements.put("/requests", statements("/requests", bookerId));
+        statements.put("/requests/all", statements("/requests/all", ownerId));
+        return statements;
+    }
+
+    private int statements(String url, Long userId) throws Exception {
+        String count = mvc.perform(get(url).header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(StatementCountAdvice.HEADER);
+        return Integer.parseInt(count);
+    }
+
+    private void seed(int items) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (; seeded < items; seeded++) {
+            Long requestId = itemRequestService.createRequest(bookerId,
+                    ItemRequestInDto.builder().description("Нужна вещь " + seeded).build()).getId();
+            itemId = itemService.createItem(ItemInDto.builder()
+                    .name("budget " + seeded)
+                    .description("Вещь " + seeded)
+                    .available(true)
+                    .requestId(requestId)
+                    .build(), ownerId).getId();
+            bookingService.importBookings(List.of(BookingDto.builder()
+                    .itemId(itemId)
+                    .bookerId(bookerId)
+                    .start(now.minusDays(3))
+                    .end(now.minusDays(2))
+                    .status(StatusEnum.APPROVED)
+                    .build()), ownerId);
+            itemService.createComment(CommentDto.builder().text("Отзыв " + seeded).build(), bookerId, itemId);
+            bookingService.createBooking(BookingDto.builder()
+                    .itemId(itemId)
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .build(), bookerId);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Бюджет SQL берётся из {@link StatementBudget} обработчика, превышение считается в метрике,
+ * а повторяющийся SQL выделяется как признак N+1.
+ */
+public class StatementCountFilterTest {
+    private static final String ITEM_BY_ID = "select i.id, i.name from items i where i.id=?";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JpaStatementCounter counter = new JpaStatementCounter(meterRegistry);
+
+    @Test
+    void shouldRejectHandlerOverBudgetInStrictMode() throws Exception {
+        StatementCountFilter filter = new StatementCountFilter(meterRegistry, 20, true);
+
+        StatementBudgetExceededException e = assertThrows(StatementBudgetExceededException.class,
+                () -> filter.doFilter(request("listItems"), new MockHttpServletResponse(), executing(3)));
+
+        assertTrue(e.getMessage().startsWith("GET /items выполнил 4 SQL при бюджете 2"), e.getMessage());
+        assertTrue(e.getMessage().contains("3 × " + ITEM_BY_ID + " (N+1?)"), e.getMessage());
+        assertEquals(1, meterRegistry.get(StatementCountFilter.EXCEEDED).tags("uri", "/items").counter().count());
+        assertEquals(4, meterRegistry.get(StatementCountFilter.SUMMARY).summary().totalAmount());
+    }
+
+    @Test
+    void shouldUseDefaultBudgetAndOnlyWarnOutsideStrictMode() throws Exception {
+        StatementCountFilter filter = new StatementCountFilter(meterRegistry, 5, false);
+
+        filter.doFilter(request("unbudgeted"), new MockHttpServletResponse(), executing(4));
+        filter.doFilter(request("unbudgeted"), new MockHttpServletResponse(), executing(5));
+
+        assertEquals(1, meterRegistry.get(StatementCountFilter.EXCEEDED).counter().count());
+    }
+
+    @Test
+    void shouldCollapseParameterListsInFingerprint() {
+        RequestStatements statements = new RequestStatements();
+        statements.add("select * from bookings\n  where item_id in (?, ?, ?)");
+        statements.add("select * from bookings where item_id in (?,?)");
+        statements.add("select * from users where id=?");
+
+        List<Map.Entry<String, Integer>> top = statements.top(1);
+
+        assertEquals(3, statements.getCount());
+        assertEquals(Map.entry("select * from bookings where item_id in (?...)", 2), top.get(0));
+    }
+
+    private FilterChain executing(int itemLookups) {
+        return (request, response) -> {
+            counter.inspect("select u.id from users u where u.id=?");
+            for (int i = 0; i < itemLookups; i++) {
+                counter.inspect(ITEM_BY_ID);
+            }
+        };
+    }
+
+    private MockHttpServletRequest request(String handler) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Handlers(), Handlers.class.getMethod(handler)));
+        return request;
+    }
+
+    public static class Handlers {
+
+        @StatementBudget(2)
+        public void listItems() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+}
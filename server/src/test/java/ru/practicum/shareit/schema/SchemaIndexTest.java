@@ -0,0 +1,82 @@
+package ru.practicum.shareit.schema;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Проверяет по плану запроса (EXPLAIN), что запросы репозиториев идут по индексам, а не полным сканированием.
+ * H2 сам создаёт одноколоночные индексы под внешние ключи и для равенства по ним выбирает их,
+ * поэтому для таких запросов проверяется только отсутствие сканирования таблицы.
+ */
+@DataJpaTest
+public class SchemaIndexTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void bookerBookingsUseBookerStartIndex() {
+        String plan = explain("select * from bookings " +
+                "where booker_id = 1 and start_date > current_timestamp " +
+                "order by start_date desc");
+        assertThat(plan, containsString("BOOKINGS_BOOKER_ID_START_DATE_IDX"));
+    }
+
+    @Test
+    void bookerBookingsAfterCursorUseBookerStartIndex() {
+        String plan = explain("select * from bookings " +
+                "where booker_id = 1 and start_date <= current_timestamp " +
+                "and (start_date < current_timestamp or id < 10) " +
+                "order by start_date desc, id desc limit 10");
+        assertThat(plan, containsString("BOOKINGS_BOOKER_ID_START_DATE_IDX"));
+    }
+
+    @Test
+    void itemBookingsAtSameTimeUseItemStatusStartIndex() {
+        String plan = explain("select * from bookings " +
+                "where item_id = 1 and status = 'APPROVED' " +
+                "and start_date between current_timestamp and current_timestamp");
+        assertThat(plan, containsString("BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX"));
+    }
+
+    @Test
+    void lastAndNextBookingsUseIndex() {
+        String plan = explain("select * from bookings " +
+                "where item_id in (1, 2) and status in ('APPROVED', 'WAITING') " +
+                "and start_date <> current_timestamp");
+        assertThat(plan, allOf(containsString("ITEM_ID IN"), not(containsString("tableScan"))));
+    }
+
+    @Test
+    void ownerItemsUseIndex() {
+        String plan = explain("select * from items where owner_id = 1 order by id");
+        assertThat(plan, allOf(containsString("OWNER_ID ="), not(containsString("tableScan"))));
+    }
+
+    @Test
+    void requestItemsUseIndex() {
+        String plan = explain("select * from items where request_id in (1, 2)");
+        assertThat(plan, allOf(containsString("REQUEST_ID IN"), not(containsString("tableScan"))));
+    }
+
+    @Test
+    void itemCommentsUseIndex() {
+        String plan = explain("select * from comments where item_id in (1, 2) order by created desc");
+        assertThat(plan, allOf(containsString("ITEM_ID IN"), not(containsString("tableScan"))));
+    }
+
+    @Test
+    void requesterRequestsUseIndex() {
+        String plan = explain("select * from requests where requester_id = 1 order by created desc");
+        assertThat(plan, allOf(containsString("REQUESTER_ID ="), not(containsString("tableScan"))));
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(em.getEntityManager().createNativeQuery("explain " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Запрос с контекстом трассы от шлюза: спан HTTP-запроса продолжает трассу, а спаны сервиса и SQL
+ * вложены в него.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TracingITTest {
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final String GATEWAY_SPAN_ID = "b7ad6b7169203331";
+
+    private final UserService userService;
+    private final SdkTracerProvider tracerProvider;
+    private final InMemorySpanExporter spans;
+    private final MockMvc mvc;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.createUser(UserDto.builder()
+                .name("user")
+                .email("user" + System.nanoTime() + "@tracing.ru")
+                .build()).getId();
+        spans.reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        userService.deleteUser(userId);
+    }
+
+    @Test
+    void shouldNestServiceAndJdbcSpansUnderGatewayTrace() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01"))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        List<SpanData> trace = spans.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .toList();
+        Map<String, SpanData> byId = trace.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+        SpanData request = find(trace, "http get /bookings");
+        SpanData service = find(trace, "booking-service.find-all-for-user");
+        List<SpanData> queries = trace.stream().filter(span -> span.getName().equals("query")).toList();
+
+        assertEquals(GATEWAY_SPAN_ID, request.getParentSpanId());
+        assertEquals(request.getSpanId(), service.getParentSpanId());
+        assertFalse(queries.isEmpty());
+        for (SpanData query : queries) {
+            assertTrue(hasAncestor(query, service, byId), query.toString());
+        }
+    }
+
+    private static SpanData find(List<SpanData> trace, String name) {
+        return trace.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Нет спана " + name + " среди " + trace));
+    }
+
+    private static boolean hasAncestor(SpanData span, SpanData ancestor, Map<String, SpanData> byId) {
+        for (SpanData parent = byId.get(span.getParentSpanId()); parent != null; parent = byId.get(parent.getParentSpanId())) {
+            if (parent.getSpanId().equals(ancestor.getSpanId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
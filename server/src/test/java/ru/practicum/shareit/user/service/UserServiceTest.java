@@ -1,22 +1,25 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
 import ru.practicum.shareit.exceptions.ObjectAlreadyExistsException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.validation.ValidationException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +30,12 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ItemSummaryService itemSummaryService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -117,6 +126,7 @@ public class UserServiceTest {
         assertNotNull(userDtoUpdated);
         assertEquals(userId, userDtoUpdated.getId());
         assertEquals(nameUpdated, userDtoUpdated.getName());
+        verify(itemSummaryService).onUserRenamed(userId);
 
         String emailUpdated = "updated@mail.ru";
         userUpdated.setEmail(emailUpdated);
@@ -147,7 +157,9 @@ public class UserServiceTest {
     @Test
     void delete() {
         long userId = 1L;
+        when(itemSummaryService.itemsAffectedByUser(userId)).thenReturn(Set.of(10L));
         userService.deleteUser(userId);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(itemSummaryService, times(1)).rebuild(Set.of(10L));
     }
 }